@@ -0,0 +1,65 @@
+package com.rushhour.benchmarks;
+
+import com.rushhour.Board;
+import com.rushhour.PerformanceTest;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Rush Hour Board Benchmark, measures the Board primitives the solvers lean on (trying a move,
+ * hashing, and comparing boards) on fixed puzzles from puzzles.txt.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class BoardBenchmark {
+  // Index of the puzzle in puzzles.txt
+  @Param({"0", "13", "39"})
+  int puzzle;
+
+  Board board;
+  // Distinct board equal to the first, so equals has to compare every car
+  Board copy;
+  int numberOfMoves;
+  int nextMove;
+
+  @Setup
+  public void setUp() throws IOException {
+    board = PerformanceTest.loadPuzzles("puzzles.txt").get(puzzle);
+    copy = new Board(board);
+    numberOfMoves = board.numberOfCars() * 2;
+  }
+
+  // Try each car in each direction in turn, so blocked and legal moves are both measured
+  @Benchmark
+  public Board tryMove() {
+    int move = nextMove;
+    nextMove = move + 1 == numberOfMoves ? 0 : move + 1;
+    return board.tryMove(move >> 1, (move & 1) == 0);
+  }
+
+  @Benchmark
+  public int hashCodeOfBoard() {
+    return board.hashCode();
+  }
+
+  @Benchmark
+  public boolean equalsOfBoard() {
+    return board.equals(copy);
+  }
+}
\ No newline at end of file
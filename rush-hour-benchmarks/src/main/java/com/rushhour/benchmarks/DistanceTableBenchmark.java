@@ -0,0 +1,47 @@
+package com.rushhour.benchmarks;
+
+import com.rushhour.Board;
+import com.rushhour.DistanceTable;
+import com.rushhour.PerformanceTest;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Rush Hour Distance Table Benchmark, measures building the distance table of fixed puzzles from
+ * puzzles.txt.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class DistanceTableBenchmark {
+  // Index of the puzzle in puzzles.txt
+  @Param({"11", "13", "39"})
+  int puzzle;
+
+  Board board;
+
+  @Setup
+  public void setUp() throws IOException {
+    board = PerformanceTest.loadPuzzles("puzzles.txt").get(puzzle);
+  }
+
+  @Benchmark
+  public DistanceTable build() {
+    return new DistanceTable(board);
+  }
+}
\ No newline at end of file
@@ -0,0 +1,49 @@
+package com.rushhour.benchmarks;
+
+import com.rushhour.BidirectionalHeuristicSolver;
+import com.rushhour.Board;
+import com.rushhour.PerformanceTest;
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Rush Hour Feasible Win States Benchmark, measures enumerating the win states of fixed puzzles
+ * from puzzles.txt, which the bidirectional solver does before searching.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class FeasibleWinStatesBenchmark {
+  // Index of the puzzle in puzzles.txt
+  @Param({"0", "13", "39"})
+  int puzzle;
+
+  BidirectionalHeuristicSolver solver;
+
+  @Setup
+  public void setUp() throws IOException {
+    Board board = PerformanceTest.loadPuzzles("puzzles.txt").get(puzzle);
+    solver = new BidirectionalHeuristicSolver(board);
+  }
+
+  @Benchmark
+  public Set<Board> feasibleWinStates() {
+    return solver.feasibleWinStates();
+  }
+}
\ No newline at end of file
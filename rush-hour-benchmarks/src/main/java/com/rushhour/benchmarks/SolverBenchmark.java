@@ -0,0 +1,66 @@
+package com.rushhour.benchmarks;
+
+import com.rushhour.AStarSolver;
+import com.rushhour.BidirectionalHeuristicSolver;
+import com.rushhour.Board;
+import com.rushhour.BreadthFirstSolver;
+import com.rushhour.DepthFirstSolver;
+import com.rushhour.IterativeDeepeningSolver;
+import com.rushhour.PerformanceTest;
+import com.rushhour.Solver;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Rush Hour Solver Benchmark, measures solving fixed puzzles from puzzles.txt end to end (solver
+ * construction included, since some solvers start their search there) for each solver.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class SolverBenchmark {
+  // Index of the puzzle in puzzles.txt
+  @Param({"0", "13", "39"})
+  int puzzle;
+
+  @Param({"DepthFirst", "BreadthFirst", "BidirectionalHeuristic", "AStar", "IterativeDeepening"})
+  String solver;
+
+  Board board;
+  Function<Board, Solver> solverFactory;
+
+  @Setup
+  public void setUp() throws IOException {
+    board = PerformanceTest.loadPuzzles("puzzles.txt").get(puzzle);
+    solverFactory = switch (solver) {
+      case "DepthFirst" -> DepthFirstSolver::new;
+      case "BreadthFirst" -> BreadthFirstSolver::new;
+      case "BidirectionalHeuristic" -> BidirectionalHeuristicSolver::new;
+      case "AStar" -> AStarSolver::new;
+      case "IterativeDeepening" -> IterativeDeepeningSolver::new;
+      default -> throw new IllegalArgumentException("Unknown solver " + solver);
+    };
+  }
+
+  @Benchmark
+  public List<Board> solveProblem() {
+    return solverFactory.apply(board).solveProblem();
+  }
+}
\ No newline at end of file
@@ -0,0 +1,149 @@
+package com.rushhour;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Rush Hour A* Solver, a best-first search ordered by distance from the initial state plus the
+ * blocking car heuristic. Because the heuristic is consistent, the first win state taken off the
+ * queue is reached by a shortest certificate, while far fewer states are expanded than by a
+ * breadth-first search.
+ */
+public class AStarSolver implements Solver {
+  Board initialState;
+  BoardLayout layout;
+  MoveModel moveModel;
+  MoveGenerator moveGenerator;
+  BlockingCarHeuristic heuristic;
+  // Every state seen so far along with its parent and best known distance from the initial state
+  StateTable visited;
+  // Heuristic value of each state in the table, by index
+  int[] heuristicValues;
+  SearchStatistics statistics = new SearchStatistics();
+
+  public AStarSolver(Board initialState) {
+    this(initialState, MoveModel.SINGLE_STEP);
+  }
+
+  public AStarSolver(Board initialState, MoveModel moveModel) {
+    if (initialState == null) {
+      throw new IllegalArgumentException("Initial state cannot be null");
+    }
+    if (!initialState.validateCars()) {
+      throw new IllegalArgumentException("Initial state contains a positional conflict");
+    }
+    if (moveModel == null) {
+      throw new IllegalArgumentException("Move model cannot be null");
+    }
+    this.initialState = initialState;
+    this.layout = new BoardLayout(initialState);
+    this.moveModel = moveModel;
+    this.moveGenerator = new MoveGenerator(layout, moveModel);
+    this.heuristic = new BlockingCarHeuristic(layout, moveModel);
+    this.visited = new StateTable();
+    long start = layout.encode(initialState);
+    visited.add(start, StateTable.NO_PARENT, 0);
+    this.heuristicValues = new int[1024];
+    heuristicValues[0] = heuristic.evaluate(start);
+  }
+
+  @Override
+  public List<Board> solveProblem() {
+    int u = search();
+
+    // If a solution wasn't found, return an empty list
+    if (u == StateTable.NOT_FOUND) {
+      return new ArrayList<>();
+    }
+
+    // Solution was found, find the certificate from the parent indices in the table
+    long time = System.nanoTime();
+    long[] path = visited.path(u);
+    ArrayList<Board> solution = new ArrayList<>(path.length);
+    for (long state : path) {
+      solution.add(layout.decode(state));
+    }
+    statistics.phase(SearchStatistics.CERTIFICATE, time);
+    return solution;
+  }
+
+  @Override
+  public MoveSequence solveToMoves() {
+    int u = search();
+    if (u == StateTable.NOT_FOUND) {
+      return null;
+    }
+    long time = System.nanoTime();
+    MoveSequence moves = MoveSequence.fromStates(initialState, layout, visited.path(u));
+    statistics.phase(SearchStatistics.CERTIFICATE, time);
+    return moves;
+  }
+
+  @Override
+  public SearchStatistics statistics() {
+    return statistics;
+  }
+
+  // The search finds a shortest certificate
+  @Override
+  public boolean isOptimal() {
+    return true;
+  }
+
+  // Helper function to search until a win state is taken off the queue, returning its index in the
+  // table (or NOT_FOUND if the puzzle isn't solvable)
+  private int search() {
+    // Queue entries carry f = g + h and g along with the table index of the state (entries left
+    // behind when a state's distance improves are skipped)
+    long time = System.nanoTime();
+    BucketQueue queue = new BucketQueue(heuristicValues[0] * 2);
+    queue.add(heuristicValues[0], 0, 0);
+    BitSet expanded = new BitSet();
+
+    int u = StateTable.NOT_FOUND;
+    while (!queue.isEmpty()) {
+      int index = queue.poll();
+      if (expanded.get(index) || queue.polledG() != visited.distance(index)) {
+        continue;
+      }
+      long state = visited.state(index);
+      if (layout.isSolved(state)) {
+        u = index;
+        break;
+      }
+      expanded.set(index);
+
+      int g = visited.distance(index) + 1;
+      int numberOfMoves = moveGenerator.generate(state);
+      statistics.expanded(numberOfMoves);
+      for (int i = 0; i < numberOfMoves; i++) {
+        long successor = moveGenerator.successor(i);
+        int successorIndex = visited.add(successor, index, g);
+        if (successorIndex != StateTable.NOT_FOUND) {
+          // New state, compute its heuristic value from its parent's
+          if (successorIndex == heuristicValues.length) {
+            heuristicValues = Arrays.copyOf(heuristicValues, heuristicValues.length * 2);
+          }
+          heuristicValues[successorIndex] =
+            heuristic.update(state, heuristicValues[index], successor, moveGenerator.movedCar(i));
+        } else {
+          // Known state, only worth requeueing if it is now reached by a shorter path
+          statistics.duplicate();
+          successorIndex = visited.indexOf(successor);
+          if (expanded.get(successorIndex) || g >= visited.distance(successorIndex)) {
+            continue;
+          }
+          visited.changeParent(successorIndex, index);
+          visited.changeDistance(successorIndex, g);
+        }
+        queue.add(g + heuristicValues[successorIndex], g, successorIndex);
+      }
+      statistics.frontier(queue.size());
+    }
+    statistics.visited(visited.size());
+    statistics.phase(SearchStatistics.SEARCH, time);
+    return u;
+  }
+}
\ No newline at end of file
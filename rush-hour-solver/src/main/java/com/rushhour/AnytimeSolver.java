@@ -0,0 +1,228 @@
+package com.rushhour;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Rush Hour Anytime Solver, a weighted A* search that finds a certificate quickly and then keeps
+ * searching for shorter ones. States are taken off the queue by g + w * h, which heads for a win
+ * state much more greedily than A*, and whenever a win state is reached by a shorter certificate
+ * than the best so far, that certificate is handed to a listener. The search goes on, reopening
+ * states reached by shorter paths and dropping every state whose g + h shows it can't lead to a
+ * shorter certificate, until the queue runs dry and the best certificate is proved optimal. If its
+ * limits stop the search first, the best certificate found so far is returned instead, and solve
+ * reports the limit that stopped it along with that certificate.
+ */
+public class AnytimeSolver implements Solver {
+  static final int DEFAULT_WEIGHT = 3;
+
+  Board initialState;
+  BoardLayout layout;
+  MoveModel moveModel;
+  MoveGenerator moveGenerator;
+  BlockingCarHeuristic heuristic;
+  int weight;
+  // Called with every certificate shorter than those before it
+  Consumer<MoveSequence> listener;
+  // Every state seen so far along with its parent and best known distance from the initial state
+  StateTable visited;
+  // Heuristic value of each state in the table, by index
+  int[] heuristicValues;
+  // Number of certificates found by the last search, and whether the last of them was proved optimal
+  int solutionsFound;
+  boolean provedOptimal;
+  // Limit the last search was stopped by after finding a certificate (null if it ran to the end)
+  SearchResult.Outcome stoppedBy;
+  SearchStatistics statistics = new SearchStatistics();
+
+  public AnytimeSolver(Board initialState) {
+    this(initialState, MoveModel.SINGLE_STEP);
+  }
+
+  public AnytimeSolver(Board initialState, MoveModel moveModel) {
+    this(initialState, moveModel, DEFAULT_WEIGHT, moves -> { });
+  }
+
+  public AnytimeSolver(Board initialState, Consumer<MoveSequence> listener) {
+    this(initialState, MoveModel.SINGLE_STEP, DEFAULT_WEIGHT, listener);
+  }
+
+  public AnytimeSolver(Board initialState, MoveModel moveModel, int weight, Consumer<MoveSequence> listener) {
+    if (initialState == null) {
+      throw new IllegalArgumentException("Initial state cannot be null");
+    }
+    if (!initialState.validateCars()) {
+      throw new IllegalArgumentException("Initial state contains a positional conflict");
+    }
+    if (moveModel == null) {
+      throw new IllegalArgumentException("Move model cannot be null");
+    }
+    if (weight < 1) {
+      throw new IllegalArgumentException("Weight must be at least 1");
+    }
+    if (listener == null) {
+      throw new IllegalArgumentException("Listener cannot be null");
+    }
+    this.initialState = initialState;
+    this.layout = new BoardLayout(initialState);
+    this.moveModel = moveModel;
+    this.moveGenerator = new MoveGenerator(layout, moveModel);
+    this.heuristic = new BlockingCarHeuristic(layout, moveModel);
+    this.weight = weight;
+    this.listener = listener;
+  }
+
+  @Override
+  public List<Board> solveProblem() {
+    long[] path = search();
+
+    // If a solution wasn't found, return an empty list
+    if (path == null) {
+      return new ArrayList<>();
+    }
+
+    long time = System.nanoTime();
+    ArrayList<Board> solution = new ArrayList<>(path.length);
+    for (long state : path) {
+      solution.add(layout.decode(state));
+    }
+    statistics.phase(SearchStatistics.CERTIFICATE, time);
+    return solution;
+  }
+
+  @Override
+  public MoveSequence solveToMoves() {
+    long[] path = search();
+    if (path == null) {
+      return null;
+    }
+    long time = System.nanoTime();
+    MoveSequence moves = MoveSequence.fromStates(initialState, layout, path);
+    statistics.phase(SearchStatistics.CERTIFICATE, time);
+    return moves;
+  }
+
+  @Override
+  public SearchStatistics statistics() {
+    return statistics;
+  }
+
+  // Number of ever shorter certificates the last search found
+  public int solutionsFound() {
+    return solutionsFound;
+  }
+
+  // Whether the last search ran to the end, so that the certificate it returned is optimal
+  public boolean provedOptimal() {
+    return provedOptimal;
+  }
+
+  // Only a search that ran to the end knows its certificate is optimal
+  @Override
+  public boolean isOptimal() {
+    return provedOptimal;
+  }
+
+  // A search stopped by its limits reports the limit rather than SOLVED, with the best certificate
+  // found before it stopped
+  @Override
+  public SearchResult solve() {
+    SearchResult result = Solver.super.solve();
+    if (result.isSolved() && stoppedBy != null) {
+      return new SearchResult(stoppedBy, result.moves(), result.statistics());
+    }
+    return result;
+  }
+
+  // Helper function to search until the best certificate is proved optimal or the search is
+  // stopped, returning the packed states of the best certificate (or null if there is none)
+  private long[] search() {
+    long time = System.nanoTime();
+    long start = layout.encode(initialState);
+    visited = new StateTable();
+    visited.add(start, StateTable.NO_PARENT, 0);
+    heuristicValues = new int[1024];
+    heuristicValues[0] = heuristic.evaluate(start);
+    solutionsFound = 0;
+    provedOptimal = false;
+    stoppedBy = null;
+
+    // Queue entries carry g + w * h and g along with the table index of the state (entries left
+    // behind when a state's distance improves are skipped)
+    BucketQueue queue = new BucketQueue(weight * heuristicValues[0] * 2);
+    long[] best = null;
+    int bestLength = Integer.MAX_VALUE;
+    if (layout.isSolved(start)) {
+      best = improve(0);
+      bestLength = 0;
+    } else {
+      queue.add(weight * heuristicValues[0], 0, 0);
+    }
+    try {
+      while (!queue.isEmpty()) {
+        int index = queue.poll();
+        int g = visited.distance(index);
+        if (queue.polledG() != g || g + heuristicValues[index] >= bestLength) {
+          continue;
+        }
+        long state = visited.state(index);
+        int numberOfMoves = moveGenerator.generate(state);
+        statistics.expanded(numberOfMoves);
+        for (int i = 0; i < numberOfMoves; i++) {
+          long successor = moveGenerator.successor(i);
+          int successorIndex = visited.add(successor, index, g + 1);
+          if (successorIndex != StateTable.NOT_FOUND) {
+            // New state, compute its heuristic value from its parent's
+            if (successorIndex == heuristicValues.length) {
+              heuristicValues = Arrays.copyOf(heuristicValues, heuristicValues.length * 2);
+            }
+            heuristicValues[successorIndex] =
+              heuristic.update(state, heuristicValues[index], successor, moveGenerator.movedCar(i));
+          } else {
+            // Known state, only worth reopening if it is now reached by a shorter path
+            statistics.duplicate();
+            successorIndex = visited.indexOf(successor);
+            if (g + 1 >= visited.distance(successorIndex)) {
+              continue;
+            }
+            visited.changeParent(successorIndex, index);
+            visited.changeDistance(successorIndex, g + 1);
+          }
+          if (g + 1 + heuristicValues[successorIndex] >= bestLength) {
+            continue;
+          }
+          if (layout.isSolved(successor)) {
+            // Nothing past a win state can be shorter, so it is recorded rather than queued
+            best = improve(successorIndex);
+            bestLength = best.length - 1;
+            continue;
+          }
+          queue.add(g + 1 + weight * heuristicValues[successorIndex], g + 1, successorIndex);
+        }
+        statistics.frontier(queue.size());
+      }
+      provedOptimal = true;
+    } catch (SearchLimitExceededException e) {
+      // Stopped early, which only loses the proof if a certificate was already found
+      if (best == null) {
+        throw e;
+      }
+      stoppedBy = e.outcome();
+    } finally {
+      statistics.visited(visited.size());
+      statistics.phase(SearchStatistics.SEARCH, time);
+    }
+    return best;
+  }
+
+  // Helper function to record a shorter certificate ending at a win state in the table, handing it
+  // to the listener and returning its packed states
+  private long[] improve(int winIndex) {
+    long[] path = visited.path(winIndex);
+    solutionsFound++;
+    listener.accept(MoveSequence.fromStates(initialState, layout, path));
+    return path;
+  }
+}
\ No newline at end of file
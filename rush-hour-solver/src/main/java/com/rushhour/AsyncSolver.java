@@ -0,0 +1,149 @@
+package com.rushhour;
+
+import java.io.Closeable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Rush Hour Async Solver, solves puzzles in the background and hands back a CompletableFuture per
+ * puzzle, so that a caller can have any number of puzzles in flight without a thread of its own
+ * waiting on each. Each puzzle gets its own solver from the given factory. When the JVM has virtual
+ * threads (Java 21 and up, looked up by reflection since the code is built for 17), every puzzle
+ * runs on a virtual thread of its own and a semaphore bounds how many searches run at once, so
+ * that waiting puzzles cost next to nothing; otherwise a fixed pool of that many daemon platform
+ * threads is used. Cancelling a future cancels a token its search checks at every expansion, so
+ * the search stops soon after, and the future of a search stopped by its limits completes
+ * normally with a SearchResult saying so.
+ */
+public final class AsyncSolver implements Closeable {
+  final Function<Board, ? extends Solver> solverFactory;
+  final int maximumConcurrentSearches;
+  final ExecutorService executor;
+  final boolean virtualThreads;
+  // Permits for the searches allowed to run at once
+  final Semaphore permits;
+  // Number of puzzles submitted whose searches haven't finished
+  final AtomicInteger inFlight = new AtomicInteger();
+
+  public AsyncSolver(Function<Board, ? extends Solver> solverFactory) {
+    this(solverFactory, Runtime.getRuntime().availableProcessors());
+  }
+
+  public AsyncSolver(Function<Board, ? extends Solver> solverFactory, int maximumConcurrentSearches) {
+    if (solverFactory == null) {
+      throw new IllegalArgumentException("Solver factory cannot be null");
+    }
+    if (maximumConcurrentSearches <= 0) {
+      throw new IllegalArgumentException("Maximum number of concurrent searches must be positive");
+    }
+    this.solverFactory = solverFactory;
+    this.maximumConcurrentSearches = maximumConcurrentSearches;
+    this.permits = new Semaphore(maximumConcurrentSearches);
+    ExecutorService virtual = virtualThreadExecutor();
+    this.virtualThreads = virtual != null;
+    this.executor = virtualThreads ? virtual
+      : Executors.newFixedThreadPool(maximumConcurrentSearches, daemonThreads());
+  }
+
+  // Solve a puzzle in the background without limits
+  public CompletableFuture<SearchResult> solve(Board initialState) {
+    return solve(initialState, SearchLimits.NONE);
+  }
+
+  // Solve a puzzle in the background within limits (any token in the limits still cancels the
+  // search, as does cancelling the future). Once the solver is closed, the future returned has
+  // already failed with an IllegalStateException.
+  public CompletableFuture<SearchResult> solve(Board initialState, SearchLimits limits) {
+    if (initialState == null) {
+      throw new IllegalArgumentException("Initial state cannot be null");
+    }
+    if (limits == null) {
+      throw new IllegalArgumentException("Limits cannot be null");
+    }
+    CancellationToken token = new CancellationToken(limits.token());
+    SearchLimits searchLimits = limits.withToken(token);
+    CompletableFuture<SearchResult> future = new CompletableFuture<>();
+    future.whenComplete((result, e) -> {
+      if (future.isCancelled()) {
+        token.cancel();
+      }
+    });
+    inFlight.incrementAndGet();
+    try {
+      executor.execute(() -> run(initialState, searchLimits, future));
+    } catch (RejectedExecutionException e) {
+      inFlight.decrementAndGet();
+      future.completeExceptionally(new IllegalStateException("Async solver is closed", e));
+    }
+    return future;
+  }
+
+  // Whether puzzles are solved on virtual threads rather than a pool of platform threads
+  public boolean usesVirtualThreads() {
+    return virtualThreads;
+  }
+
+  // Number of puzzles submitted whose searches haven't finished yet (a cancelled search counts until
+  // it notices)
+  public int inFlight() {
+    return inFlight.get();
+  }
+
+  // Stop taking new puzzles, letting those already submitted finish
+  @Override
+  public void close() {
+    executor.shutdown();
+  }
+
+  // Helper function to solve a puzzle once a permit is free, completing its future (only once the
+  // puzzle no longer counts as in flight)
+  private void run(Board initialState, SearchLimits limits, CompletableFuture<SearchResult> future) {
+    SearchResult result = null;
+    Throwable failure = null;
+    try {
+      permits.acquire();
+      try {
+        // A puzzle cancelled while waiting for a permit is never searched
+        if (!future.isDone()) {
+          result = solverFactory.apply(initialState).withLimits(limits).solve();
+        }
+      } finally {
+        permits.release();
+      }
+    } catch (InterruptedException | RuntimeException | Error e) {
+      failure = e;
+    }
+    inFlight.decrementAndGet();
+    if (failure != null) {
+      future.completeExceptionally(failure);
+    } else if (result != null) {
+      future.complete(result);
+    }
+  }
+
+  // Helper function to make an executor starting a virtual thread per task, or return null if the
+  // JVM has no virtual threads
+  static ExecutorService virtualThreadExecutor() {
+    try {
+      return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+    } catch (ReflectiveOperationException | RuntimeException e) {
+      return null;
+    }
+  }
+
+  // Helper function to make a factory of daemon threads, so idle workers don't keep the JVM alive
+  private static ThreadFactory daemonThreads() {
+    AtomicInteger count = new AtomicInteger();
+    return r -> {
+      Thread t = new Thread(r, "rush-hour-async-" + count.incrementAndGet());
+      t.setDaemon(true);
+      return t;
+    };
+  }
+}
\ No newline at end of file
@@ -0,0 +1,209 @@
+package com.rushhour;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.IntConsumer;
+import java.util.function.ObjIntConsumer;
+
+/**
+ * Rush Hour Batch Solver, solves many puzzles concurrently on a fixed pool of worker threads. Each
+ * puzzle gets its own solver from the given factory (for example {@code AStarSolver::new}), and the
+ * workers claim puzzles from a shared counter rather than one task per puzzle, so batches of
+ * hundreds of thousands of boards don't queue a future each. Unless told not to, puzzles that
+ * share a canonical form (the same puzzle with its cars listed in another order, or transposed or
+ * mirrored) are only solved once when the solver guarantees a shortest certificate, with the
+ * certificate translated for each copy. The certificate of a solver without that guarantee (such
+ * as a depth-first search) depends on the car order, so copies are then solved in their own
+ * right. Certificates are returned in the same order as the puzzles were given. A puzzle whose
+ * solver throws doesn't stop the batch: it is left without a certificate, and its exception is
+ * handed to a failure handler once the batch is done.
+ */
+public final class BatchSolver {
+  final Function<Board, ? extends Solver> solverFactory;
+  final int numberOfThreads;
+  // Whether copies of a puzzle may share the certificate of an optimal solver
+  final boolean deduplicate;
+
+  public BatchSolver(Function<Board, ? extends Solver> solverFactory) {
+    this(solverFactory, Runtime.getRuntime().availableProcessors());
+  }
+
+  public BatchSolver(Function<Board, ? extends Solver> solverFactory, int numberOfThreads) {
+    this(solverFactory, numberOfThreads, true);
+  }
+
+  public BatchSolver(Function<Board, ? extends Solver> solverFactory, int numberOfThreads, boolean deduplicate) {
+    if (solverFactory == null) {
+      throw new IllegalArgumentException("Solver factory cannot be null");
+    }
+    if (numberOfThreads <= 0) {
+      throw new IllegalArgumentException("Number of threads must be positive");
+    }
+    this.solverFactory = solverFactory;
+    this.numberOfThreads = numberOfThreads;
+    this.deduplicate = deduplicate;
+  }
+
+  // Solve every puzzle, returning the certificate of each (empty if it isn't solvable) in input order,
+  // with null for any puzzle whose solver threw
+  public List<List<Board>> solveAll(List<Board> puzzles) {
+    return solveAll(puzzles, (e, i) -> { });
+  }
+
+  // Solve every puzzle like solveAll, then hand the exception of each puzzle whose solver threw to
+  // a handler along with the puzzle's index, in input order
+  public List<List<Board>> solveAll(List<Board> puzzles, ObjIntConsumer<RuntimeException> failures) {
+    if (puzzles == null) {
+      throw new IllegalArgumentException("Puzzles cannot be null");
+    }
+    if (failures == null) {
+      throw new IllegalArgumentException("Failure handler cannot be null");
+    }
+    // Filled to size up front, so the workers only ever set their own elements
+    List<List<Board>> solutions = new ArrayList<>(Collections.nCopies(puzzles.size(), null));
+    CanonicalForm[] forms = new CanonicalForm[puzzles.size()];
+    int[] first = firstCopies(puzzles, forms);
+    RuntimeException[] failed = solveFirstCopies(puzzles, first, (solver, i) -> solutions.set(i, solver.solveProblem()));
+    for (int i = 0; i < solutions.size(); i++) {
+      if (failed[i] != null) {
+        failures.accept(failed[i], i);
+      } else if (first[i] != i) {
+        // Replay the moves of the first copy on this one
+        MoveSequence moves = MoveSequence.fromBoards(solutions.get(first[i]));
+        solutions.set(i, moves == null ? new ArrayList<>()
+          : forms[i].toMoveSequence(puzzles.get(i), forms[first[i]].toCanonicalMoves(moves)).toBoards());
+      }
+    }
+    return solutions;
+  }
+
+  // Solve every puzzle, returning only the length of each certificate in input order (certificates
+  // are dropped as soon as they are measured), with -1 for any puzzle whose solver threw
+  public int[] solutionLengths(List<Board> puzzles) {
+    return solutionLengths(puzzles, (e, i) -> { });
+  }
+
+  // Solve every puzzle like solutionLengths, then hand the exception of each puzzle whose solver
+  // threw to a handler along with the puzzle's index, in input order
+  public int[] solutionLengths(List<Board> puzzles, ObjIntConsumer<RuntimeException> failures) {
+    if (puzzles == null) {
+      throw new IllegalArgumentException("Puzzles cannot be null");
+    }
+    if (failures == null) {
+      throw new IllegalArgumentException("Failure handler cannot be null");
+    }
+    int[] lengths = new int[puzzles.size()];
+    int[] first = firstCopies(puzzles, new CanonicalForm[puzzles.size()]);
+    RuntimeException[] failed = solveFirstCopies(puzzles, first, (solver, i) -> lengths[i] = solver.solveProblem().size());
+    for (int i = 0; i < lengths.length; i++) {
+      if (failed[i] != null) {
+        lengths[i] = -1;
+        failures.accept(failed[i], i);
+      } else {
+        lengths[i] = lengths[first[i]];
+      }
+    }
+    return lengths;
+  }
+
+  // Helper function to solve every puzzle that is the first copy of its canonical form, then every
+  // copy of a puzzle whose solver didn't guarantee a shortest certificate (or threw), which is made
+  // a first copy of its own. Returns the exception thrown for each puzzle (null where none was).
+  private RuntimeException[] solveFirstCopies(List<Board> puzzles, int[] first, ObjIntConsumer<Solver> solve) {
+    boolean[] optimal = new boolean[first.length];
+    RuntimeException[] failed = new RuntimeException[first.length];
+    forEachPuzzle(first.length, i -> {
+      if (first[i] == i) {
+        try {
+          Solver solver = solverFactory.apply(puzzles.get(i));
+          solve.accept(solver, i);
+          optimal[i] = solver.isOptimal();
+        } catch (RuntimeException e) {
+          failed[i] = e;
+        }
+      }
+    });
+    boolean[] again = new boolean[first.length];
+    boolean anyAgain = false;
+    for (int i = 0; i < first.length; i++) {
+      if (first[i] != i && !optimal[first[i]]) {
+        first[i] = i;
+        again[i] = true;
+        anyAgain = true;
+      }
+    }
+    if (anyAgain) {
+      forEachPuzzle(first.length, i -> {
+        if (again[i]) {
+          try {
+            solve.accept(solverFactory.apply(puzzles.get(i)), i);
+          } catch (RuntimeException e) {
+            failed[i] = e;
+          }
+        }
+      });
+    }
+    return failed;
+  }
+
+  // Helper function to find the canonical form of every puzzle and the index of the first puzzle
+  // sharing it (each puzzle is its own first copy if puzzles aren't deduplicated)
+  private int[] firstCopies(List<Board> puzzles, CanonicalForm[] forms) {
+    int[] first = new int[puzzles.size()];
+    HashMap<CanonicalForm, Integer> seen = new HashMap<>();
+    for (int i = 0; i < first.length; i++) {
+      if (!deduplicate) {
+        first[i] = i;
+        continue;
+      }
+      forms[i] = new CanonicalForm(puzzles.get(i));
+      Integer previous = seen.putIfAbsent(forms[i], i);
+      first[i] = previous == null ? i : previous;
+    }
+    return first;
+  }
+
+  // Helper function to run a task once for every puzzle index on the worker pool, where each worker
+  // repeatedly claims the next unclaimed index until none are left
+  private void forEachPuzzle(int numberOfPuzzles, IntConsumer task) {
+    if (numberOfPuzzles == 0) {
+      return;
+    }
+    AtomicInteger next = new AtomicInteger();
+    Runnable worker = () -> {
+      int i;
+      while ((i = next.getAndIncrement()) < numberOfPuzzles) {
+        task.accept(i);
+      }
+    };
+
+    int workers = Math.min(numberOfThreads, numberOfPuzzles);
+    ExecutorService pool = Executors.newFixedThreadPool(workers);
+    try {
+      List<Future<?>> futures = new ArrayList<>(workers);
+      for (int w = 0; w < workers; w++) {
+        futures.add(pool.submit(worker));
+      }
+      for (Future<?> f : futures) {
+        f.get();
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new RuntimeException("Interrupted while solving puzzles", e);
+    } catch (ExecutionException e) {
+      // Stop the other workers from claiming more puzzles before rethrowing
+      next.set(numberOfPuzzles);
+      throw new RuntimeException("Failed to solve puzzle", e.getCause());
+    } finally {
+      pool.shutdownNow();
+    }
+  }
+}
\ No newline at end of file
@@ -1,392 +1,280 @@
 package com.rushhour;
 
-import java.util.ArrayList;
-import java.util.Comparator;
-import java.util.HashMap;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.HashSet;
-import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
-import java.util.PriorityQueue;
 
 public class BidirectionalHeuristicSolver implements Solver {
+  // Number of win states the backward search is first seeded with (doubled for each later batch)
+  private static final int INITIAL_SEED_SIZE = 64;
+
   Board initialState;
+  BoardLayout layout;
+  MoveModel moveModel;
+  MoveGenerator moveGenerator;
+  BlockingCarHeuristic heuristic;
+  // Displacement of each car from its initial position, indexed by carIndex * N + front, which
+  // sums to the backward heuristic
+  int[] displacement;
+  // Heuristic value of each state in the forward and backward search trees, by index
+  int[] fromStartValues;
+  int[] fromWinStateValues;
+  SearchStatistics statistics = new SearchStatistics();
 
   public BidirectionalHeuristicSolver(Board initialState) {
+    this(initialState, MoveModel.SINGLE_STEP);
+  }
+
+  public BidirectionalHeuristicSolver(Board initialState, MoveModel moveModel) {
     if (initialState == null) {
       throw new IllegalArgumentException("Initial state cannot be null");
     }
     if (!initialState.validateCars()) {
       throw new IllegalArgumentException("Initial state contains a positional conflict");
     }
+    if (moveModel == null) {
+      throw new IllegalArgumentException("Move model cannot be null");
+    }
     this.initialState = initialState;
+    this.layout = new BoardLayout(initialState);
+    this.moveModel = moveModel;
+    this.moveGenerator = new MoveGenerator(layout, moveModel);
+    this.heuristic = new BlockingCarHeuristic(layout, moveModel);
+    int N = layout.N();
+    long start = layout.encode(initialState);
+    this.displacement = new int[layout.numberOfCars() * N];
+    for (int i = 0; i < layout.numberOfCars(); i++) {
+      for (int front = 0; front < N; front++) {
+        displacement[i * N + front] = Math.abs(front - layout.position(start, i));
+      }
+    }
   }
 
   @Override
   public List<Board> solveProblem() {
-    // Find the set of feasible winning states
-    HashSet<Board> winStates = feasibleWinStates();
+    long[] path = search();
 
-    // If there are no feasible winning states, puzzle is unsolvable
-    if (winStates.isEmpty()) {
+    // If no solution exists, return an empty list
+    if (path == null) {
       return new LinkedList<>();
     }
 
-    // Check if the initial state is a win state
-    if (winStates.contains(initialState)) {
-      return List.of(initialState);
+    // Convert the certificate back to boards only now
+    long time = System.nanoTime();
+    LinkedList<Board> solution = new LinkedList<>();
+    for (long state : path) {
+      solution.addLast(layout.decode(state));
     }
+    statistics.phase(SearchStatistics.CERTIFICATE, time);
+    return solution;
+  }
 
-    // Set of states visited from the initial state of the problem
-    HashSet<Board> visitedFromStart = new HashSet<>();
-    visitedFromStart.add(initialState);
-
-    // Set of states visited from a winning state of the game
-    HashSet<Board> visitedFromWinState = new HashSet<>();
-    visitedFromWinState.addAll(winStates);
-
-    // Map from board states to distances from initial state
-    HashMap<Board, Integer> distanceFromStart = new HashMap<>();
-    distanceFromStart.put(initialState, 0);
-
-    // Map from board states to distances from nearest win state
-    HashMap<Board, Integer> distanceFromWinState = new HashMap<>();
-    for (Board w : winStates) {
-      distanceFromWinState.put(w, 0);
+  @Override
+  public MoveSequence solveToMoves() {
+    long[] path = search();
+    if (path == null) {
+      return null;
     }
+    long time = System.nanoTime();
+    MoveSequence moves = MoveSequence.fromStates(initialState, layout, path);
+    statistics.phase(SearchStatistics.CERTIFICATE, time);
+    return moves;
+  }
 
-    // Map from board states to forward heuristic values
-    HashMap<Board, Integer> forwardHeuristic = new HashMap<>();
-    forwardHeuristic.put(initialState, initialState.minimumDistanceFrom(winStates));
-
-    // Map from board states to backward heuristic values
-    HashMap<Board, Integer> backwardHeuristic = new HashMap<>();
-    for (Board w : winStates) {
-      backwardHeuristic.put(w, w.distanceFrom(initialState));
-    }
+  @Override
+  public SearchStatistics statistics() {
+    return statistics;
+  }
 
-    // Map from states to their parents from initial state
-    HashMap<Board, Board> parentFromStart = new HashMap<>();
-    parentFromStart.put(initialState, null);
+  // Helper function to search from both ends until the searches meet, returning the packed states
+  // of the certificate (or null if the puzzle isn't solvable). The forward search recognizes win
+  // states by itself, so the backward search starts from a small batch of win states and only
+  // enumerates more (in growing batches) when it runs out of states to visit.
+  private long[] search() {
+    long time = System.nanoTime();
+    long start = layout.encode(initialState);
 
-    // Map from states to their parents from win state
-    HashMap<Board, Board> parentFromWinState = new HashMap<>();
-    for (Board w : winStates) {
-      parentFromWinState.put(w, null);
+    // Check if the initial state is a win state
+    if (layout.isSolved(start)) {
+      statistics.phase(SearchStatistics.SEARCH, time);
+      return new long[] {start};
     }
 
-    // Set of states reachable from initial state
-    HashSet<Board> reachableFromStart = new HashSet<>();
-    int numberOfCars = initialState.numberOfCars();
-    Board newState = null;
-    for (int i = 0; i < numberOfCars; i++) {
-      newState = initialState.tryMove(i, true);
-      if (newState != null && !visitedFromStart.contains(newState)) {
-        reachableFromStart.add(newState);
-        distanceFromStart.put(newState, 1);
-        forwardHeuristic.put(newState, newState.minimumDistanceFrom(winStates));
-        parentFromStart.put(newState, initialState);
-      }
-      newState = initialState.tryMove(i, false);
-      if (newState != null && !visitedFromStart.contains(newState)) {
-        reachableFromStart.add(newState);
-        distanceFromStart.put(newState, 1);
-        forwardHeuristic.put(newState, newState.minimumDistanceFrom(winStates));
-        parentFromStart.put(newState, initialState);
-      }
-    }
+    // States discovered from the initial state, with their parents and distances from it
+    StateTable fromStart = new StateTable();
+    fromStart.add(start, StateTable.NO_PARENT, 0);
+    fromStartValues = new int[1024];
+    fromStartValues[0] = heuristic.evaluate(start);
 
-    // Set of states reachable from a win state
-    HashSet<Board> reachableFromWinState = new HashSet<>();
-    for (Board w : winStates) {
-      for (int i = 0; i < numberOfCars; i++) {
-        newState = w.tryMove(i, true);
-        if (newState != null && !visitedFromWinState.contains(newState)) {
-          reachableFromWinState.add(newState);
-          distanceFromWinState.put(newState, 1);
-          backwardHeuristic.put(newState, newState.distanceFrom(initialState));
-          parentFromWinState.put(newState, w);
-        }
-        newState = w.tryMove(i, false);
-        if (newState != null && !visitedFromWinState.contains(newState)) {
-          reachableFromWinState.add(newState);
-          distanceFromWinState.put(newState, 1);
-          backwardHeuristic.put(newState, newState.distanceFrom(initialState));
-          parentFromWinState.put(newState, w);
-        }
-      }
-    }
+    // States discovered from a win state, with their parents and distances from the win state they
+    // were first discovered from
+    StateTable fromWinState = new StateTable();
+    fromWinStateValues = new int[1024];
+    WinStateEnumerator winStates = new WinStateEnumerator(layout, start);
+    int seedSize = INITIAL_SEED_SIZE;
 
-    // Comparator of reachable board states in forward direction
-    Comparator<Board> forwardBoardComparator = (Board a, Board b) -> {
-      if (a.equals(b)) {
-        return 0;
-      }
-      Integer distanceA = distanceFromStart.get(a);
-      Integer distanceB = distanceFromStart.get(b);
-      Integer heuristicA = forwardHeuristic.get(a);
-      if (heuristicA == null) {
-        heuristicA = a.minimumDistanceFrom(winStates);
-        forwardHeuristic.put(a, heuristicA);
-      }
-      Integer heuristicB = forwardHeuristic.get(b);
-      if (heuristicB == null) {
-        heuristicB = b.minimumDistanceFrom(winStates);
-        forwardHeuristic.put(b, heuristicB);
-      }
-      if (distanceA == null) {
-        if (distanceB == null) {
-          return 0;
-        } else {
-          return 1;
-        }
-      } else if (distanceB == null) {
-        return -1;
-      }
-      if (heuristicA == null) {
-        if (heuristicB == null) {
-          return 0;
-        } else {
-          return 1;
-        }
-      } else if (heuristicB == null) {
-        return -1;
-      }
-      return Integer.compare(distanceA + heuristicA, distanceB + heuristicB);
-    };
+    // Indices of the discovered states that have been visited in each direction
+    BitSet visitedFromStart = new BitSet();
+    visitedFromStart.set(0);
+    BitSet visitedFromWinState = new BitSet();
 
-    // Comparator of reachable board states in backward direction
-    Comparator<Board> backwardBoardComparator = (Board a, Board b) -> {
-      if (a.equals(b)) {
-        return 0;
-      }
-      Integer distanceA = distanceFromWinState.get(a);
-      Integer distanceB = distanceFromWinState.get(b);
-      Integer heuristicA = backwardHeuristic.get(a);
-      if (heuristicA == null) {
-        heuristicA = a.distanceFrom(initialState);
-      }
-      Integer heuristicB = backwardHeuristic.get(b);
-      if (heuristicB == null) {
-        heuristicB = b.distanceFrom(initialState);
-      }
-      if (distanceA == null) {
-        if (distanceB == null) {
-          return 0;
-        } else {
-          return 1;
-        }
-      } else if (distanceB == null) {
-        return -1;
-      }
-      if (heuristicA == null) {
-        if (heuristicB == null) {
-          return 0;
-        } else {
-          return 1;
+    // Priority queues of states reachable (discovered but not yet visited) in each direction,
+    // ordered by distance plus heuristic
+    BucketQueue forwardReachableQueue = new BucketQueue();
+    int reachableFromStart = expand(fromStart, forwardReachableQueue, 0, true);
+    BucketQueue backwardReachableQueue = new BucketQueue();
+    int reachableFromWinState = 0;
+
+    // Explore new board states until a win state is visited from the initial state, a state has
+    // been visited in both directions, or one side runs out of options
+    long[] path = null;
+    int newState;
+    int otherState;
+    while (!forwardReachableQueue.isEmpty() && (!backwardReachableQueue.isEmpty() || winStates.hasNext())) {
+      if (backwardReachableQueue.isEmpty()) {
+        // The backward search is out of states, seed it with the next batch of win states
+        long seedTime = System.nanoTime();
+        for (int i = 0; i < seedSize && winStates.hasNext(); i++) {
+          long winState = winStates.next();
+          int index = fromWinState.add(winState, StateTable.NO_PARENT, 0);
+          if (index != StateTable.NOT_FOUND) {
+            fromWinStateValues = store(fromWinStateValues, index, layout.distance(winState, start));
+            backwardReachableQueue.add(fromWinStateValues[index], 0, index);
+            reachableFromWinState++;
+          }
         }
-      } else if (heuristicB == null) {
-        return -1;
+        seedSize *= 2;
+        statistics.phase(SearchStatistics.WIN_STATES, seedTime);
+        continue;
       }
-      return Integer.compare(distanceA + heuristicA, distanceB + heuristicB);
-    };
-
-    // Put all states reachable from initial state into a priority queue based on forward comparator
-    PriorityQueue<Board> forwardReachableQueue = new PriorityQueue<>(forwardBoardComparator);
-    for (Board b : reachableFromStart) {
-      forwardReachableQueue.add(b);
-    }
-
-    // Put all states reachable from a win state into a priority queue based on backward comparator
-    PriorityQueue<Board> backwardReachableQueue = new PriorityQueue<>(backwardBoardComparator);
-    for (Board b : reachableFromWinState) {
-      backwardReachableQueue.add(b);
-    }
-
-    // Explore new board states until a state has been visited in both directions or one side runs
-    // out of options
-    boolean bridgeFound = false;
-    Board reachableFromNewState;
-    while (forwardReachableQueue.peek() != null && backwardReachableQueue.peek() != null) {
       // Work from side with less reachable states
-      if (reachableFromStart.size() < reachableFromWinState.size()) {
+      if (reachableFromStart < reachableFromWinState) {
         // Searching in forward direction
         newState = forwardReachableQueue.poll();
-        visitedFromStart.add(newState);
-        reachableFromStart.remove(newState);
+        visitedFromStart.set(newState);
+        reachableFromStart--;
+        // Check if the new state is a win state
+        if (layout.isSolved(fromStart.state(newState))) {
+          path = fromStart.path(newState);
+          break;
+        }
         // Check if the new state has also been visited from a win state
-        if (visitedFromWinState.contains(newState)) {
-          bridgeFound = true;
+        otherState = fromWinState.indexOf(fromStart.state(newState));
+        if (otherState != StateTable.NOT_FOUND && visitedFromWinState.get(otherState)) {
+          path = join(fromStart, newState, fromWinState, otherState);
           break;
         }
         // Find all new states reachable from the added state
-        for (int i = 0; i < numberOfCars; i++) {
-          reachableFromNewState = newState.tryMove(i, true);
-          if (reachableFromNewState != null && !visitedFromStart.contains(reachableFromNewState) &&
-              !reachableFromStart.contains(reachableFromNewState)) {
-            reachableFromStart.add(reachableFromNewState);
-            distanceFromStart.put(reachableFromNewState, distanceFromStart.get(newState) + 1);
-            forwardHeuristic.put(reachableFromNewState, reachableFromNewState.minimumDistanceFrom(winStates));
-            parentFromStart.put(reachableFromNewState, newState);
-            forwardReachableQueue.add(reachableFromNewState);
-          }
-          reachableFromNewState = newState.tryMove(i, false);
-          if (reachableFromNewState != null && !visitedFromStart.contains(reachableFromNewState) &&
-              !reachableFromStart.contains(reachableFromNewState)) {
-            reachableFromStart.add(reachableFromNewState);
-            distanceFromStart.put(reachableFromNewState, distanceFromStart.get(newState) + 1);
-            forwardHeuristic.put(reachableFromNewState, reachableFromNewState.minimumDistanceFrom(winStates));
-            parentFromStart.put(reachableFromNewState, newState);
-            forwardReachableQueue.add(reachableFromNewState);
-          }
-        }
+        reachableFromStart += expand(fromStart, forwardReachableQueue, newState, true);
       } else {
         // Searching in backward direction
         newState = backwardReachableQueue.poll();
-        visitedFromWinState.add(newState);
-        reachableFromWinState.remove(newState);
+        visitedFromWinState.set(newState);
+        reachableFromWinState--;
         // Check if the new state has also been visited from the initial state
-        if (visitedFromStart.contains(newState)) {
-          bridgeFound = true;
+        otherState = fromStart.indexOf(fromWinState.state(newState));
+        if (otherState != StateTable.NOT_FOUND && visitedFromStart.get(otherState)) {
+          path = join(fromStart, otherState, fromWinState, newState);
           break;
         }
         // Find all new states reachable from the added state
-        for (int i = 0; i < numberOfCars; i++) {
-          reachableFromNewState = newState.tryMove(i, true);
-          if (reachableFromNewState != null && !visitedFromWinState.contains(reachableFromNewState) &&
-              !reachableFromWinState.contains(reachableFromNewState)) {
-            reachableFromWinState.add(reachableFromNewState);
-            distanceFromWinState.put(reachableFromNewState, distanceFromWinState.get(newState) + 1);
-            backwardHeuristic.put(reachableFromNewState, reachableFromNewState.distanceFrom(initialState));
-            parentFromWinState.put(reachableFromNewState, newState);
-            backwardReachableQueue.add(reachableFromNewState);
-          }
-          reachableFromNewState = newState.tryMove(i, false);
-          if (reachableFromNewState != null && !visitedFromWinState.contains(reachableFromNewState) &&
-              !reachableFromWinState.contains(reachableFromNewState)) {
-            reachableFromWinState.add(reachableFromNewState);
-            distanceFromWinState.put(reachableFromNewState, distanceFromWinState.get(newState) + 1);
-            backwardHeuristic.put(reachableFromNewState, reachableFromNewState.distanceFrom(initialState));
-            parentFromWinState.put(reachableFromNewState, newState);
-            backwardReachableQueue.add(reachableFromNewState);
-          }
-        }
+        reachableFromWinState += expand(fromWinState, backwardReachableQueue, newState, false);
       }
+      statistics.frontier(forwardReachableQueue.size() + backwardReachableQueue.size());
     }
-
-    // If no bridge was found between the forward and backward searches, no solution exists
-    if (!bridgeFound) {
-      return new LinkedList<>();
-    }
-
-    // Build the solution from the two search trees
-    LinkedList<Board> solution = new LinkedList<>();
-    Board currentState;
-    solution.add(newState);
-    while ((currentState = parentFromStart.get(solution.getFirst())) != null) {
-      solution.addFirst(currentState);
-    }
-    while ((currentState = parentFromWinState.get(solution.getLast())) != null) {
-      solution.addLast(currentState);
-    }
-    return solution;
+    statistics.visited(fromStart.size() + fromWinState.size());
+    statistics.phase(SearchStatistics.SEARCH, time);
+    return path;
   }
 
-  public HashSet<Board> feasibleWinStates() {
-    int numberOfCars = initialState.numberOfCars();
-    final int N = initialState.N();
-
-    // Create an array of sets of board states to incrementally add new cars
-    ArrayList<HashSet<Board>> incrementalWinStates = new ArrayList<>(numberOfCars);
-    for (int i = 0; i < numberOfCars; i++) {
-      incrementalWinStates.add(new HashSet<>());
+  // Helper function to join the path from the initial state to a bridge state with the chain of
+  // parents from the bridge state to its win state
+  private long[] join(StateTable fromStart, int bridgeFromStart, StateTable fromWinState, int bridgeFromWinState) {
+    long[] toBridge = fromStart.path(bridgeFromStart);
+    long[] path = Arrays.copyOf(toBridge, toBridge.length + fromWinState.distance(bridgeFromWinState));
+    int length = toBridge.length;
+    for (int i = fromWinState.parent(bridgeFromWinState); i != StateTable.NO_PARENT; i = fromWinState.parent(i)) {
+      path[length++] = fromWinState.state(i);
     }
+    return path;
+  }
 
-    // Add a board containing only the target car at the win state to the first set
-    Car luckyTargetCar = new Car(initialState.cars().get(0));
-    luckyTargetCar.reposition(initialState.exitXPosition(), initialState.exitYPosition());
-    Board simpleWinState = new Board(initialState.N(), initialState.exitXPosition(),
-                                     initialState.exitYPosition(), List.of(luckyTargetCar));
-    incrementalWinStates.get(0).add(simpleWinState);
-
-    // Incrementally add cars to the board, building on the prior set each iteration
-    Car newCar;
-    Board newBoard;
-    int length;
-    for (int i = 1; i < numberOfCars; i++) {
-      newCar = new Car(initialState.cars().get(i));
-      length = newCar.length();
-      boolean isHorizontal = newCar.isHorizontal();
-      // Iterate through all other cars to calculate front and back padding of new car
-      int frontPadding = 0;
-      int backPadding = 0;
-      for (Car c : initialState.cars()) {
-        if (c.equals(newCar)) {
-          continue;
-        }
-        if (isHorizontal && c.isHorizontal() && newCar.yPosition() == c.yPosition()) {
-          if (c.xPosition() > newCar.xPosition()) {
-            frontPadding += c.length();
-          } else {
-            backPadding += c.length();
-          }
-        } else if (!isHorizontal && !c.isHorizontal() && newCar.xPosition() == c.xPosition()) {
-          if (c.yPosition() > newCar.yPosition()) {
-            frontPadding += c.length();
-          } else {
-            backPadding += c.length();
-          }
+  // Helper function to discover every new state reachable from the state at a given index of a
+  // search tree, queueing each by distance plus heuristic (the blocking car heuristic going forward,
+  // and the total car displacement from the initial state going backward), and returning how many
+  // were discovered. Only the moved car changes between a state and its successor, so each
+  // successor's heuristic value is updated from its parent's rather than evaluated from scratch.
+  private int expand(StateTable tree, BucketQueue queue, int index, boolean forward) {
+    int N = layout.N();
+    int distance = tree.distance(index) + 1;
+    long parent = tree.state(index);
+    int parentValue = forward ? fromStartValues[index] : fromWinStateValues[index];
+    int discovered = 0;
+    int numberOfMoves = moveGenerator.generate(parent);
+    statistics.expanded(numberOfMoves);
+    long state;
+    int newIndex;
+    int car;
+    int h;
+    for (int i = 0; i < numberOfMoves; i++) {
+      state = moveGenerator.successor(i);
+      newIndex = tree.add(state, index, distance);
+      if (newIndex != StateTable.NOT_FOUND) {
+        car = moveGenerator.movedCar(i);
+        if (forward) {
+          h = heuristic.update(parent, parentValue, state, car);
+          fromStartValues = store(fromStartValues, newIndex, h);
+        } else {
+          h = parentValue - displacement[car * N + layout.position(parent, car)]
+            + displacement[car * N + layout.position(state, car)];
+          fromWinStateValues = store(fromWinStateValues, newIndex, h);
         }
-      }
-      // Calculate wiggle room based on car's length, front padding, and back padding
-      int wiggleRoom = N - length - frontPadding - backPadding;
-      if (newCar.isHorizontal()) {
-        newCar.changeXPosition(backPadding + length - 1);
+        queue.add(distance + h, distance, newIndex);
+        discovered++;
       } else {
-        newCar.changeYPosition(backPadding + length - 1);
-      }
-      for (int d = 0; d <= wiggleRoom; d++) {
-        for (Board b : incrementalWinStates.get(i - 1)) {
-          newBoard = b.tryAddCar(newCar);
-          if (newBoard != null) {
-            incrementalWinStates.get(i).add(newBoard);
-          }
-        }
-        newCar.moveForward();
+        statistics.duplicate();
       }
     }
+    return discovered;
+  }
 
-    // Ensure that each win state is reachable from a non-win state
-    HashSet<Board> winStates = incrementalWinStates.get(numberOfCars - 1);
-    boolean newStateFound;
+  // Helper function to store a value at an index of an array, growing the array if needed
+  private static int[] store(int[] values, int index, int value) {
+    if (index >= values.length) {
+      values = Arrays.copyOf(values, Math.max(index + 1, values.length * 2));
+    }
+    values[index] = value;
+    return values;
+  }
 
-    // Mark all win states at this stage as visited, even if unfeasible
-    HashSet<Board> visited = new HashSet<>();
-    for (Board b : winStates) {
-      visited.add(b);
+  // Find every win state that can be reached from a state that isn't a win state
+  public HashSet<Board> feasibleWinStates() {
+    // Enumerate the win states, keeping the cars that share a lane in their initial order
+    long start = layout.encode(initialState);
+    StateTable winStates = new StateTable();
+    WinStateEnumerator enumerator = new WinStateEnumerator(layout, start);
+    while (enumerator.hasNext()) {
+      winStates.add(enumerator.next(), StateTable.NO_PARENT, 0);
     }
-    // Must use iterator rather than foreach loop because we delete win states as we're traversing
-    // them
-    Iterator<Board> iterator = winStates.iterator();
-    while (iterator.hasNext()) {
-      Board b = iterator.next();
-      newStateFound = false;
-      for (int i = 0; i < numberOfCars; i++) {
-        newBoard = b.tryMove(i, true);
-        if (newBoard != null && !visited.contains(newBoard)) {
-          newStateFound = true;
-          break;
-        }
-        newBoard = b.tryMove(i, false);
-        if (newBoard != null && !visited.contains(newBoard)) {
-          newStateFound = true;
-          break;
-        }
+
+    // Keep only the win states one move away from a state that isn't a win state
+    HashSet<Board> feasible = new HashSet<>();
+    int numberOfCars = layout.numberOfCars();
+    for (int i = 0; i < winStates.size(); i++) {
+      long w = winStates.state(i);
+      boolean newStateFound = false;
+      for (int j = 0; j < numberOfCars && !newStateFound; j++) {
+        long forward = layout.tryMove(w, j, true);
+        long backward = layout.tryMove(w, j, false);
+        newStateFound = (forward != BoardLayout.NO_STATE && !winStates.contains(forward))
+          || (backward != BoardLayout.NO_STATE && !winStates.contains(backward));
       }
-      if (!newStateFound) {
-        iterator.remove();
+      if (newStateFound) {
+        feasible.add(layout.decode(w));
       }
     }
-    return winStates;
+    return feasible;
   }
 }
\ No newline at end of file
@@ -0,0 +1,107 @@
+package com.rushhour;
+
+/**
+ * Rush Hour Blocking Car Heuristic, a cheap admissible estimate of the number of moves left to
+ * solve a packed state. The target car must still travel to the exit, and every other car covering
+ * a cell the target car has to sweep through must move at least once, so the estimate is the
+ * target car's distance to the exit (or a single move under the slide model) plus the number of
+ * blocking cars. Since a move changes the estimate by at most one, the heuristic is consistent,
+ * and when a car other than the target moves only that car's contribution needs to be updated.
+ * Whether a car blocks is precomputed for every position of the target car and of the car, so an
+ * evaluation is a sum of table lookups and an update is two.
+ */
+public final class BlockingCarHeuristic {
+  final BoardLayout layout;
+  final MoveModel moveModel;
+  final int N;
+  final int numberOfCars;
+  // Estimate for the target car alone, by the position of its front
+  final int[] targetValue;
+  // Whether a car blocks the target car, indexed by (targetFront * numberOfCars + carIndex) * N +
+  // front, with the target car's own entries left at 0
+  final byte[] blocking;
+
+  // Explicit value constructor
+  public BlockingCarHeuristic(BoardLayout layout, MoveModel moveModel) {
+    if (layout == null) {
+      throw new IllegalArgumentException("Layout cannot be null");
+    }
+    if (moveModel == null) {
+      throw new IllegalArgumentException("Move model cannot be null");
+    }
+    this.layout = layout;
+    this.moveModel = moveModel;
+    this.N = layout.N();
+    this.numberOfCars = layout.numberOfCars();
+    this.targetValue = new int[N];
+    this.blocking = new byte[N * numberOfCars * N];
+    if (layout.targetExitPosition < 0) {
+      return;
+    }
+    for (int targetFront = 0; targetFront < N; targetFront++) {
+      int distance = Math.abs(layout.targetExitPosition - targetFront);
+      targetValue[targetFront] = moveModel == MoveModel.SLIDE ? Math.min(distance, 1) : distance;
+      for (int i = 1; i < numberOfCars; i++) {
+        for (int front = layout.length(i) - 1; front < N; front++) {
+          if (blocks(i, front, targetFront)) {
+            blocking[(targetFront * numberOfCars + i) * N + front] = 1;
+          }
+        }
+      }
+    }
+  }
+
+  // Calculate the heuristic value of a state from scratch
+  public int evaluate(long state) {
+    if (layout.targetExitPosition < 0) {
+      return 0;
+    }
+    int targetFront = layout.position(state, 0);
+    int value = targetValue[targetFront];
+    int offset = targetFront * numberOfCars * N;
+    for (int i = 1; i < numberOfCars; i++) {
+      offset += N;
+      value += blocking[offset + layout.position(state, i)];
+    }
+    return value;
+  }
+
+  // Calculate the heuristic value of a child state from its parent's value and the car that moved
+  public int update(long parent, int parentValue, long child, int movedCar) {
+    if (movedCar == 0 || layout.targetExitPosition < 0) {
+      // The region the target car has to sweep through changed, so start over
+      return evaluate(child);
+    }
+    int offset = (layout.position(parent, 0) * numberOfCars + movedCar) * N;
+    return parentValue - blocking[offset + layout.position(parent, movedCar)]
+      + blocking[offset + layout.position(child, movedCar)];
+  }
+
+  // Helper function to check whether a car (with its front at a given position) covers a cell the
+  // target car (with its front at a given position) still has to sweep through on its way to the exit
+  private boolean blocks(int carIndex, int front, int targetFront) {
+    int targetLength = layout.length(0);
+    int exit = layout.targetExitPosition;
+    // Cells between the target car's current and final positions, excluding those it covers now
+    int sweptFrom;
+    int sweptTo;
+    if (targetFront < exit) {
+      sweptFrom = targetFront + 1;
+      sweptTo = exit;
+    } else if (targetFront > exit) {
+      sweptFrom = exit - targetLength + 1;
+      sweptTo = targetFront - targetLength;
+    } else {
+      return false;
+    }
+
+    int back = front - layout.length(carIndex) + 1;
+    if (layout.isHorizontal(carIndex) == layout.isHorizontal(0)) {
+      // Parallel car, only in the way if it shares the target car's lane and overlaps the region
+      return layout.lane(carIndex) == layout.lane(0) && back <= sweptTo && sweptFrom <= front;
+    }
+    // Perpendicular car, in the way if its lane crosses the region and it covers the target's lane
+    int crossing = layout.lane(carIndex);
+    return sweptFrom <= crossing && crossing <= sweptTo && back <= layout.lane(0) && layout.lane(0) <= front;
+  }
+}
\ No newline at end of file
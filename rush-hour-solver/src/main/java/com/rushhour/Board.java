@@ -259,31 +259,24 @@ public final class Board {
     return targetCar.xPosition() == this.exitXPosition && targetCar.yPosition() == this.exitYPosition;
   }
 
-  // Function to evaluate whether a particular move is possible
+  // Function to evaluate whether a particular move is possible (only the moved car needs to be
+  // checked, so this is linear rather than quadratic in the number of cars)
   public boolean moveIsPossible(int carIndex, boolean movingForward) {
     if (carIndex < 0 || carIndex >= this.cars.size()) {
       return false;
     }
     Car movingCar = this.cars.get(carIndex);
+    boolean possible;
     if (movingForward) {
       movingCar.moveForward();
-      if (this.validateCars()) {
-        movingCar.moveBackward();
-        return true;
-      } else {
-        movingCar.moveBackward();
-        return false;
-      }
+      possible = this.carIsClear(movingCar);
+      movingCar.moveBackward();
     } else {
       movingCar.moveBackward();
-      if (this.validateCars()) {
-        movingCar.moveForward();
-        return true;
-      } else {
-        movingCar.moveForward();
-        return false;
-      }
+      possible = this.carIsClear(movingCar);
+      movingCar.moveForward();
     }
+    return possible;
   }
 
   // Function to try a move, returning a copy of the board reflecting the move if possible and null
@@ -293,28 +286,41 @@ public final class Board {
       return null;
     }
     Car movingCar = this.cars.get(carIndex);
-    Board newBoard;
+    Board newBoard = null;
     if (movingForward) {
       movingCar.moveForward();
-      if (this.validateCars()) {
+      if (this.carIsClear(movingCar)) {
         newBoard = new Board(this);
-        movingCar.moveBackward();
-        return newBoard;
-      } else {
-        movingCar.moveBackward();
-        return null;
       }
+      movingCar.moveBackward();
     } else {
       movingCar.moveBackward();
-      if (this.validateCars()) {
+      if (this.carIsClear(movingCar)) {
         newBoard = new Board(this);
-        movingCar.moveForward();
-        return newBoard;
-      } else {
-        movingCar.moveForward();
-        return null;
+      }
+      movingCar.moveForward();
+    }
+    return newBoard;
+  }
+
+  // Helper function to verify that a single car is entirely on the board and doesn't intersect any
+  // other car (enough to keep a valid board valid after moving that car)
+  private boolean carIsClear(Car car) {
+    if (car.isHorizontal()) {
+      if (car.xPosition() - car.length() + 1 < 0 || car.xPosition() >= N) {
+        return false;
+      }
+    } else {
+      if (car.yPosition() - car.length() + 1 < 0 || car.yPosition() >= N) {
+        return false;
       }
     }
+    for (Car c : this.cars) {
+      if (c != car && car.intersects(c)) {
+        return false;
+      }
+    }
+    return true;
   }
 
   // Function to test if it's possible to add a car to the board without conflict
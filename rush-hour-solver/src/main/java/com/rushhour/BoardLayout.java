@@ -0,0 +1,230 @@
+package com.rushhour;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Rush Hour Board Layout, the part of a board that never changes during a search: the size of the
+ * grid, the exit position, and the length, orientation, and lane (the row of a horizontal car or
+ * the column of a vertical car) of every car. Given a layout, a board state is fully described by
+ * the position of each car along its lane, which the layout packs into a single long so that the
+ * solvers can search without allocating a Board and a list of Car objects per state. Each car
+ * takes just enough bits for the offset of its back end, bitlength(N - length), and a layout is
+ * only accepted if its cars need at most 63 bits between them: on a 10x10 board, for instance, 15
+ * cars of length 2 (4 bits each) fit, but 16 don't.
+ */
+public final class BoardLayout {
+  // Sentinel value for "no state" (never produced by encode, since packed states use at most 63 bits)
+  public static final long NO_STATE = -1L;
+
+  // Maximum number of bits available for a packed state
+  static final int MAXIMUM_STATE_BITS = 63;
+
+  final int N;
+  final int exitXPosition;
+  final int exitYPosition;
+  final int numberOfCars;
+  final int[] length;
+  final boolean[] isHorizontal;
+  final int[] lane;
+  final int[] shift;
+  final long[] mask;
+  // Position of the front of the target car along its lane when it reaches the exit (-1 if the
+  // target car is not in line with the exit and can never reach it)
+  final int targetExitPosition;
+
+  // Explicit value constructor, taking the fixed attributes of a (valid) board
+  public BoardLayout(Board board) {
+    if (board == null) {
+      throw new IllegalArgumentException("Board cannot be null");
+    }
+    if (!board.validateCars()) {
+      throw new IllegalArgumentException("Board contains a positional conflict");
+    }
+
+    this.N = board.N();
+    this.exitXPosition = board.exitXPosition();
+    this.exitYPosition = board.exitYPosition();
+    this.numberOfCars = board.numberOfCars();
+    this.length = new int[numberOfCars];
+    this.isHorizontal = new boolean[numberOfCars];
+    this.lane = new int[numberOfCars];
+    this.shift = new int[numberOfCars];
+    this.mask = new long[numberOfCars];
+
+    // Give each car just enough bits to hold the offset of its back end from the edge of the board
+    int totalBits = 0;
+    Car c;
+    for (int i = 0; i < numberOfCars; i++) {
+      c = board.cars().get(i);
+      this.length[i] = c.length();
+      this.isHorizontal[i] = c.isHorizontal();
+      this.lane[i] = c.isHorizontal() ? c.yPosition() : c.xPosition();
+      int bits = 32 - Integer.numberOfLeadingZeros(N - c.length());
+      this.shift[i] = totalBits;
+      this.mask[i] = (1L << bits) - 1;
+      totalBits += bits;
+    }
+    if (totalBits > MAXIMUM_STATE_BITS) {
+      throw new IllegalArgumentException("Board has too many cars to pack into a single state");
+    }
+
+    // Work out where the target car's front ends up when the puzzle is solved
+    if (isHorizontal[0]) {
+      this.targetExitPosition = lane[0] == exitYPosition ? exitXPosition : -1;
+    } else {
+      this.targetExitPosition = lane[0] == exitXPosition ? exitYPosition : -1;
+    }
+  }
+
+  // Hash code generation function
+  @Override
+  public int hashCode() {
+    return Objects.hash(this.N, this.exitXPosition, this.exitYPosition, Arrays.hashCode(this.length),
+                        Arrays.hashCode(this.isHorizontal), Arrays.hashCode(this.lane));
+  }
+
+  // Equality operator override (two layouts are equal if they describe the same state space)
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (obj == null || this.getClass() != obj.getClass()) {
+      return false;
+    }
+
+    BoardLayout otherLayout = (BoardLayout) obj;
+    return this.N == otherLayout.N && this.exitXPosition == otherLayout.exitXPosition &&
+      this.exitYPosition == otherLayout.exitYPosition && Arrays.equals(this.length, otherLayout.length) &&
+      Arrays.equals(this.isHorizontal, otherLayout.isHorizontal) && Arrays.equals(this.lane, otherLayout.lane);
+  }
+
+  // Pack the car positions of a board sharing this layout into a single state
+  public long encode(Board board) {
+    if (board.N() != this.N || board.exitXPosition() != this.exitXPosition ||
+        board.exitYPosition() != this.exitYPosition || board.numberOfCars() != this.numberOfCars) {
+      throw new IllegalArgumentException("Board does not match layout");
+    }
+    long state = 0;
+    Car c;
+    for (int i = 0; i < numberOfCars; i++) {
+      c = board.cars().get(i);
+      if (c.length() != length[i] || c.isHorizontal() != isHorizontal[i] ||
+          (c.isHorizontal() ? c.yPosition() : c.xPosition()) != lane[i]) {
+        throw new IllegalArgumentException("Board does not match layout");
+      }
+      state = withPosition(state, i, c.isHorizontal() ? c.xPosition() : c.yPosition());
+    }
+    return state;
+  }
+
+  // Unpack a state into a new board (only needed when building a certificate)
+  public Board decode(long state) {
+    Board board = new Board(N, exitXPosition, exitYPosition);
+    board.cars = new ArrayList<>(numberOfCars);
+    int position;
+    for (int i = 0; i < numberOfCars; i++) {
+      position = position(state, i);
+      if (isHorizontal[i]) {
+        board.cars.add(new Car(position, lane[i], length[i], true));
+      } else {
+        board.cars.add(new Car(lane[i], position, length[i], false));
+      }
+    }
+    return board;
+  }
+
+  // Position of the front of a car along its lane in a given state
+  public int position(long state, int carIndex) {
+    return (int) ((state >>> shift[carIndex]) & mask[carIndex]) + length[carIndex] - 1;
+  }
+
+  // Return a copy of a state with the front of a car moved to a new position along its lane
+  public long withPosition(long state, int carIndex, int position) {
+    long offset = position - length[carIndex] + 1;
+    return (state & ~(mask[carIndex] << shift[carIndex])) | (offset << shift[carIndex]);
+  }
+
+  // Function to check if the target car is at the exit in a given state
+  public boolean isSolved(long state) {
+    return position(state, 0) == targetExitPosition;
+  }
+
+  // Function to try a move, returning the state reflecting the move if possible and NO_STATE
+  // otherwise
+  public long tryMove(long state, int carIndex, boolean movingForward) {
+    if (carIndex < 0 || carIndex >= numberOfCars) {
+      return NO_STATE;
+    }
+    int front = position(state, carIndex);
+    // The only cell the car newly covers is just past its front or just behind its back
+    int newCell = movingForward ? front + 1 : front - length[carIndex];
+    if (newCell < 0 || newCell >= N) {
+      return NO_STATE;
+    }
+    int x = isHorizontal[carIndex] ? newCell : lane[carIndex];
+    int y = isHorizontal[carIndex] ? lane[carIndex] : newCell;
+    for (int i = 0; i < numberOfCars; i++) {
+      if (i != carIndex && covers(state, i, x, y)) {
+        return NO_STATE;
+      }
+    }
+    return withPosition(state, carIndex, movingForward ? front + 1 : front - 1);
+  }
+
+  // Function to check whether a car covers a particular cell in a given state
+  public boolean covers(long state, int carIndex, int x, int y) {
+    int front = position(state, carIndex);
+    if (isHorizontal[carIndex]) {
+      return y == lane[carIndex] && front - length[carIndex] + 1 <= x && x <= front;
+    } else {
+      return x == lane[carIndex] && front - length[carIndex] + 1 <= y && y <= front;
+    }
+  }
+
+  // Total displacement of all cars between two states
+  public int distance(long state, long otherState) {
+    int totalDistance = 0;
+    for (int i = 0; i < numberOfCars; i++) {
+      totalDistance += Math.abs(position(state, i) - position(otherState, i));
+    }
+    return totalDistance;
+  }
+
+  // Getter function for N
+  public int N() {
+    return this.N;
+  }
+
+  // Getter function for exit x position
+  public int exitXPosition() {
+    return this.exitXPosition;
+  }
+
+  // Getter function for exit y position
+  public int exitYPosition() {
+    return this.exitYPosition;
+  }
+
+  // Getter function for the number of cars in the layout
+  public int numberOfCars() {
+    return this.numberOfCars;
+  }
+
+  // Getter function for the length of a car
+  public int length(int carIndex) {
+    return this.length[carIndex];
+  }
+
+  // Getter function for the orientation of a car
+  public boolean isHorizontal(int carIndex) {
+    return this.isHorizontal[carIndex];
+  }
+
+  // Getter function for the lane (row if horizontal, column if vertical) of a car
+  public int lane(int carIndex) {
+    return this.lane[carIndex];
+  }
+}
\ No newline at end of file
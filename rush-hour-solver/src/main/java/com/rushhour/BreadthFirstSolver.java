@@ -1,75 +1,237 @@
 package com.rushhour;
 
-import java.util.Deque;
-import java.util.HashMap;
-import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.LongAdder;
 
 public class BreadthFirstSolver implements Solver {
+  // Number of states below which a parallel expansion task stops splitting
+  private static final int PARALLEL_THRESHOLD = 512;
+  // Number of states a parallel expansion task expands between checks of the search limits
+  private static final int LIMIT_CHECK_INTERVAL = 256;
+
   Board initialState;
-  HashSet<Board> visited;
-  Deque<Board> queue;
-  HashMap<Board, Board> priorState;
+  BoardLayout layout;
+  MoveModel moveModel;
+  MoveGenerator moveGenerator;
+  // Every state seen so far along with its parent and distance from the initial state (states are
+  // added in bfs order, so the table doubles as the queue)
+  StateTable visited;
+  // Pool used to expand each layer in parallel (null to search on the calling thread)
+  ForkJoinPool pool;
+  SearchStatistics statistics = new SearchStatistics();
 
   public BreadthFirstSolver(Board initialState) {
+    this(initialState, MoveModel.SINGLE_STEP);
+  }
+
+  public BreadthFirstSolver(Board initialState, MoveModel moveModel) {
+    this(initialState, moveModel, null);
+  }
+
+  public BreadthFirstSolver(Board initialState, MoveModel moveModel, ForkJoinPool pool) {
     if (initialState == null) {
       throw new IllegalArgumentException("Initial state cannot be null");
     }
     if (!initialState.validateCars()) {
       throw new IllegalArgumentException("Initial state contains a positional conflict");
     }
+    if (moveModel == null) {
+      throw new IllegalArgumentException("Move model cannot be null");
+    }
     this.initialState = initialState;
-    this.visited = new HashSet<>();
-    visited.add(initialState);
-    this.queue = new LinkedList<>();
-    queue.add(initialState);
-    this.priorState = new HashMap<>();
-    priorState.put(initialState, null);
+    this.layout = new BoardLayout(initialState);
+    this.moveModel = moveModel;
+    this.moveGenerator = new MoveGenerator(layout, moveModel);
+    this.visited = new StateTable();
+    visited.add(layout.encode(initialState), StateTable.NO_PARENT, 0);
+    this.pool = pool;
   }
 
   @Override
   public List<Board> solveProblem() {
-    int numberOfCars = initialState.numberOfCars();
+    int u = search();
+
+    // If a solution wasn't found, return an empty list
+    if (u == StateTable.NOT_FOUND) {
+      return new LinkedList<>();
+    }
+
+    // Solution was found, find the certificate from the parent indices in the table, converting
+    // back to boards only now
+    long time = System.nanoTime();
+    LinkedList<Board> solution = new LinkedList<>();
+    for (long state : visited.path(u)) {
+      solution.addLast(layout.decode(state));
+    }
+    statistics.phase(SearchStatistics.CERTIFICATE, time);
+    return solution;
+  }
+
+  @Override
+  public MoveSequence solveToMoves() {
+    int u = search();
+    if (u == StateTable.NOT_FOUND) {
+      return null;
+    }
+    long time = System.nanoTime();
+    MoveSequence moves = MoveSequence.fromStates(initialState, layout, visited.path(u));
+    statistics.phase(SearchStatistics.CERTIFICATE, time);
+    return moves;
+  }
+
+  @Override
+  public SearchStatistics statistics() {
+    return statistics;
+  }
+
+  // The search finds a shortest certificate
+  @Override
+  public boolean isOptimal() {
+    return true;
+  }
+
+  // Helper function to search until a win state is found, returning its index in the table (or
+  // NOT_FOUND if the puzzle isn't solvable)
+  private int search() {
+    if (pool != null) {
+      return searchInParallel();
+    }
 
-    // Perform bfs until the stack is empty or until a win state is found
-    Board u = null;
-    Board v;
+    // Perform bfs until the queue is empty or until a win state is found
+    long time = System.nanoTime();
+    int head = 0;
+    int u = StateTable.NOT_FOUND;
     boolean solutionFound = false;
-    while (queue.peekFirst() != null && !solutionFound) {
-      u = queue.removeFirst();
-      if (u.solutionFound()) {
+    while (head < visited.size() && !solutionFound) {
+      u = head++;
+      long state = visited.state(u);
+      if (layout.isSolved(state)) {
         solutionFound = true;
       } else {
-        for (int i = 0; i < numberOfCars; i++) {
-          v = u.tryMove(i, true);
-          if (v != null && !visited.contains(v)) {
-            visited.add(v);
-            queue.addLast(v);
-            priorState.put(v, u);
-          }
-          v = u.tryMove(i, false);
-          if (v != null && !visited.contains(v)) {
-            visited.add(v);
-            queue.addLast(v);
-            priorState.put(v, u);
+        int distance = visited.distance(u) + 1;
+        int numberOfMoves = moveGenerator.generate(state);
+        statistics.expanded(numberOfMoves);
+        for (int i = 0; i < numberOfMoves; i++) {
+          if (visited.add(moveGenerator.successor(i), u, distance) == StateTable.NOT_FOUND) {
+            statistics.duplicate();
           }
         }
+        statistics.frontier(visited.size() - head);
       }
     }
+    statistics.visited(visited.size());
+    statistics.phase(SearchStatistics.SEARCH, time);
+    return solutionFound ? u : StateTable.NOT_FOUND;
+  }
 
-    // If a solution wasn't found, return an empty list
-    if (!solutionFound) {
-      return new LinkedList<>();
+  // Level-synchronous bfs: every state in the current layer is expanded in parallel, then the newly
+  // discovered states are appended to the table as the next layer. Each layer is only added once
+  // the previous one is complete, so the certificate found is still a shortest one.
+  private int searchInParallel() {
+    long time = System.nanoTime();
+    ThreadLocal<MoveGenerator> moveGenerators = ThreadLocal.withInitial(() -> new MoveGenerator(layout, moveModel));
+    long totalGenerated = 0;
+    int layerStart = 0;
+    int layerEnd = visited.size();
+    int u = StateTable.NOT_FOUND;
+    while (layerStart < layerEnd && u == StateTable.NOT_FOUND) {
+      // Check the current layer for a win state
+      for (int i = layerStart; i < layerEnd && u == StateTable.NOT_FOUND; i++) {
+        if (layout.isSolved(visited.state(i))) {
+          u = i;
+        }
+      }
+      if (u != StateTable.NOT_FOUND) {
+        break;
+      }
+
+      // Expand the layer, keeping the lowest parent index for each new state (the table can be read
+      // safely from any thread since nothing is added to it until the layer is done). The tasks
+      // stop early once the search is past its limits, and the limits are then enforced here.
+      StripedStateMap discovered = new StripedStateMap(layerEnd - layerStart);
+      LayerProgress progress = new LayerProgress();
+      pool.invoke(new ExpandLayerTask(layerStart, layerEnd, discovered, moveGenerators, progress));
+      long generated = progress.generated.sum();
+      totalGenerated += generated;
+      statistics.frontier(layerEnd - layerStart);
+      statistics.expanded(progress.expanded.sum(), generated);
+
+      // Append the new layer to the table
+      int distance = visited.distance(layerStart) + 1;
+      layerStart = layerEnd;
+      for (StateTable stripe : discovered.stripes) {
+        for (int i = 0; i < stripe.size(); i++) {
+          visited.add(stripe.state(i), stripe.parent(i), distance);
+        }
+      }
+      layerEnd = visited.size();
+    }
+    // Every generated state that didn't start a new entry in the table was a duplicate
+    statistics.duplicates += totalGenerated - (visited.size() - 1);
+    statistics.visited(visited.size());
+    statistics.phase(SearchStatistics.SEARCH, time);
+    return u;
+  }
+
+  // Counters shared by the tasks expanding a layer, and whether they were told to stop
+  private static final class LayerProgress {
+    final LongAdder expanded = new LongAdder();
+    final LongAdder generated = new LongAdder();
+    volatile boolean stopped;
+  }
+
+  // Fork-join task expanding a range of table indices, splitting in half until the range is small
+  private final class ExpandLayerTask extends RecursiveAction {
+    private static final long serialVersionUID = 1L;
+
+    final int from;
+    final int to;
+    final transient StripedStateMap discovered;
+    final transient ThreadLocal<MoveGenerator> moveGenerators;
+    final transient LayerProgress progress;
+
+    ExpandLayerTask(int from, int to, StripedStateMap discovered, ThreadLocal<MoveGenerator> moveGenerators,
+                    LayerProgress progress) {
+      this.from = from;
+      this.to = to;
+      this.discovered = discovered;
+      this.moveGenerators = moveGenerators;
+      this.progress = progress;
     }
 
-    // Solution was found, find the certificate from the search tree priorState and the Board
-    // variable u
-    LinkedList<Board> solution = new LinkedList<>();
-    solution.addFirst(u);
-    while ((u = priorState.get(solution.getFirst())) != null) {
-      solution.addFirst(u);
+    @Override
+    protected void compute() {
+      if (to - from > PARALLEL_THRESHOLD) {
+        int middle = (from + to) >>> 1;
+        invokeAll(new ExpandLayerTask(from, middle, discovered, moveGenerators, progress),
+                  new ExpandLayerTask(middle, to, discovered, moveGenerators, progress));
+        return;
+      }
+      MoveGenerator generator = moveGenerators.get();
+      for (int start = from; start < to && !progress.stopped; start += LIMIT_CHECK_INTERVAL) {
+        int end = Math.min(to, start + LIMIT_CHECK_INTERVAL);
+        long numberGenerated = 0;
+        for (int i = start; i < end; i++) {
+          int numberOfMoves = generator.generate(visited.state(i));
+          numberGenerated += numberOfMoves;
+          for (int j = 0; j < numberOfMoves; j++) {
+            long successor = generator.successor(j);
+            if (!visited.contains(successor)) {
+              discovered.merge(successor, i);
+            }
+          }
+        }
+        progress.expanded.add(end - start);
+        progress.generated.add(numberGenerated);
+        // The statistics are only updated once the layer is done, so the states expanded in it so
+        // far are added to those before it
+        if (statistics.limits.exceeded(statistics.nodesExpanded + progress.expanded.sum(), true) != null) {
+          progress.stopped = true;
+        }
+      }
     }
-    return solution;
   }
 }
\ No newline at end of file
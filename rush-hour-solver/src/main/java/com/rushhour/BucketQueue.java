@@ -0,0 +1,114 @@
+package com.rushhour;
+
+import java.util.Arrays;
+
+/**
+ * Rush Hour Bucket Queue, an open list for best-first searches whose priorities (f = g + h) are
+ * small non-negative integers. Entries are kept in one bucket per f value, each a stack of the
+ * entry's g value packed above its state's table index, so adding and removing an entry take
+ * constant time (plus a scan over empty buckets when the lowest f is used up, which only happens as
+ * often as f increases for a consistent heuristic). Entries with equal f are taken most recently
+ * added first. The f and g of the last entry taken off the queue are available from getters.
+ */
+public final class BucketQueue {
+  // Initial capacity of each bucket
+  private static final int INITIAL_BUCKET_CAPACITY = 16;
+
+  long[][] buckets;
+  int[] bucketSizes;
+  int size;
+  // Lowest f that may have a non-empty bucket
+  int minimumF;
+  // f and g of the last entry polled
+  int polledF;
+  int polledG;
+
+  // Default value constructor
+  public BucketQueue() {
+    this(64);
+  }
+
+  // Explicit value constructor, taking the expected largest f
+  public BucketQueue(int expectedMaximumF) {
+    int numberOfBuckets = Math.max(1, expectedMaximumF + 1);
+    this.buckets = new long[numberOfBuckets][];
+    this.bucketSizes = new int[numberOfBuckets];
+  }
+
+  // Add an entry for the state at a given table index, with its priority and distance
+  public void add(int f, int g, int index) {
+    if (f < 0 || g < 0) {
+      throw new IllegalArgumentException("Priority and distance cannot be negative");
+    }
+    if (f >= buckets.length) {
+      int newLength = Math.max(f + 1, buckets.length * 2);
+      buckets = Arrays.copyOf(buckets, newLength);
+      bucketSizes = Arrays.copyOf(bucketSizes, newLength);
+    }
+    long[] bucket = buckets[f];
+    if (bucket == null) {
+      bucket = new long[INITIAL_BUCKET_CAPACITY];
+      buckets[f] = bucket;
+    } else if (bucketSizes[f] == bucket.length) {
+      bucket = Arrays.copyOf(bucket, bucket.length * 2);
+      buckets[f] = bucket;
+    }
+    bucket[bucketSizes[f]++] = ((long) g << 32) | (index & 0xFFFFFFFFL);
+    if (size == 0 || f < minimumF) {
+      minimumF = f;
+    }
+    size++;
+  }
+
+  // Remove an entry with the lowest f, returning its table index (its f and g can then be read
+  // with polledF and polledG)
+  public int poll() {
+    if (size == 0) {
+      throw new IllegalStateException("Queue is empty");
+    }
+    while (bucketSizes[minimumF] == 0) {
+      minimumF++;
+    }
+    long entry = buckets[minimumF][--bucketSizes[minimumF]];
+    size--;
+    polledF = minimumF;
+    polledG = (int) (entry >>> 32);
+    return (int) entry;
+  }
+
+  // Lowest f of any entry in the queue
+  public int peekF() {
+    if (size == 0) {
+      throw new IllegalStateException("Queue is empty");
+    }
+    while (bucketSizes[minimumF] == 0) {
+      minimumF++;
+    }
+    return minimumF;
+  }
+
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  public int size() {
+    return size;
+  }
+
+  // Getter for the f of the last entry polled
+  public int polledF() {
+    return polledF;
+  }
+
+  // Getter for the g of the last entry polled
+  public int polledG() {
+    return polledG;
+  }
+
+  // Remove every entry, keeping the buckets allocated
+  public void clear() {
+    Arrays.fill(bucketSizes, 0);
+    size = 0;
+    minimumF = 0;
+  }
+}
\ No newline at end of file
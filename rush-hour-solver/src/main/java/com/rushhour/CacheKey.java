@@ -0,0 +1,41 @@
+package com.rushhour;
+
+import java.util.Arrays;
+
+/**
+ * Rush Hour Cache Key, what the solution caches file a certificate under: the key of the board's
+ * canonical form together with the move model the certificate was found under, since a
+ * certificate found under one model is neither valid nor shortest under the other.
+ */
+final class CacheKey {
+  final int[] key;
+  final MoveModel moveModel;
+
+  // Explicit value constructor
+  CacheKey(int[] key, MoveModel moveModel) {
+    if (moveModel == null) {
+      throw new IllegalArgumentException("Move model cannot be null");
+    }
+    this.key = key;
+    this.moveModel = moveModel;
+  }
+
+  // Hash function override
+  @Override
+  public int hashCode() {
+    return 31 * Arrays.hashCode(key) + moveModel.hashCode();
+  }
+
+  // Equality operator override
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (obj == null || this.getClass() != obj.getClass()) {
+      return false;
+    }
+    CacheKey other = (CacheKey) obj;
+    return moveModel == other.moveModel && Arrays.equals(key, other.key);
+  }
+}
\ No newline at end of file
@@ -0,0 +1,106 @@
+package com.rushhour;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiFunction;
+
+/**
+ * Rush Hour Cached Solver, answers a board from a solution cache when it can and otherwise solves
+ * it with a solver made by the given factory, recording the certificate in the cache for next
+ * time. Certificates are cached under the move model they were found under, and only if the
+ * solver guarantees they are optimal, so a certificate from a solver such as a depth-first search
+ * is returned but never handed out for later boards. Boards that turn out to be unsolvable aren't
+ * cached. Statistics are those of the underlying solver plus the time spent in the cache, or just
+ * the cache time on a hit.
+ */
+public class CachedSolver implements Solver {
+  Board initialState;
+  MoveModel moveModel;
+  SolutionCache cache;
+  BiFunction<Board, MoveModel, ? extends Solver> solverFactory;
+  // Whether the last certificate returned came from the cache or an optimal solver
+  boolean optimal;
+  SearchLimits limits = SearchLimits.NONE;
+  SearchStatistics statistics = new SearchStatistics();
+
+  public CachedSolver(Board initialState, SolutionCache cache) {
+    this(initialState, MoveModel.SINGLE_STEP, cache);
+  }
+
+  public CachedSolver(Board initialState, MoveModel moveModel, SolutionCache cache) {
+    this(initialState, moveModel, cache, BreadthFirstSolver::new);
+  }
+
+  // Constructor taking a factory that makes a solver for a board under a move model (such as
+  // AStarSolver::new)
+  public CachedSolver(Board initialState, MoveModel moveModel, SolutionCache cache,
+                      BiFunction<Board, MoveModel, ? extends Solver> solverFactory) {
+    if (initialState == null) {
+      throw new IllegalArgumentException("Initial state cannot be null");
+    }
+    if (moveModel == null) {
+      throw new IllegalArgumentException("Move model cannot be null");
+    }
+    if (cache == null) {
+      throw new IllegalArgumentException("Cache cannot be null");
+    }
+    if (solverFactory == null) {
+      throw new IllegalArgumentException("Solver factory cannot be null");
+    }
+    this.initialState = initialState;
+    this.moveModel = moveModel;
+    this.cache = cache;
+    this.solverFactory = solverFactory;
+  }
+
+  @Override
+  public List<Board> solveProblem() {
+    MoveSequence moves = solveToMoves();
+    return moves == null ? new ArrayList<>() : moves.toBoards();
+  }
+
+  @Override
+  public MoveSequence solveToMoves() {
+    long time = System.nanoTime();
+    MoveSequence moves = cache.get(initialState, moveModel);
+    statistics.phase(SearchStatistics.CACHE, time);
+    if (moves != null) {
+      optimal = true;
+      return moves;
+    }
+    // Carry the lookup time over to the statistics of the solver
+    Solver solver = solverFactory.apply(initialState, moveModel).withLimits(limits);
+    moves = solver.solveToMoves();
+    optimal = solver.isOptimal();
+    long lookupTime = statistics.phaseTime(SearchStatistics.CACHE);
+    statistics = solver.statistics();
+    statistics.phaseTimes.merge(SearchStatistics.CACHE, lookupTime, Long::sum);
+    if (moves != null && optimal) {
+      time = System.nanoTime();
+      cache.put(initialState, moveModel, moves);
+      statistics.phase(SearchStatistics.CACHE, time);
+    }
+    return moves;
+  }
+
+  // Limits are handed on to the solver made on a cache miss
+  @Override
+  public Solver withLimits(SearchLimits limits) {
+    if (limits == null) {
+      throw new IllegalArgumentException("Limits cannot be null");
+    }
+    this.limits = limits;
+    statistics.limits = limits;
+    return this;
+  }
+
+  @Override
+  public boolean isOptimal() {
+    return optimal;
+  }
+
+  @Override
+  public SearchStatistics statistics() {
+    return statistics;
+  }
+}
\ No newline at end of file
@@ -0,0 +1,30 @@
+package com.rushhour;
+
+/**
+ * Rush Hour Cancellation Token, a flag a search checks as it goes so that another thread can ask
+ * it to stop. Cancelling is permanent, and one token can be shared by any number of searches. A
+ * token made from a parent is also cancelled whenever its parent is, so a single search can be
+ * cancelled without cancelling the others sharing the parent.
+ */
+public final class CancellationToken {
+  final CancellationToken parent;
+  volatile boolean cancelled;
+
+  public CancellationToken() {
+    this(null);
+  }
+
+  // Constructor for a token also cancelled by a parent (which may be null)
+  public CancellationToken(CancellationToken parent) {
+    this.parent = parent;
+  }
+
+  // Ask every search using the token to stop
+  public void cancel() {
+    cancelled = true;
+  }
+
+  public boolean isCancelled() {
+    return cancelled || (parent != null && parent.isCancelled());
+  }
+}
\ No newline at end of file
@@ -0,0 +1,157 @@
+package com.rushhour;
+
+import java.util.Arrays;
+
+/**
+ * Rush Hour Canonical Form, a key identifying a board regardless of the order its cars were listed
+ * in or which way round it was drawn. The board is transposed if the target car is vertical, and
+ * mirrored top to bottom if that brings the exit nearer the top edge (when the exit is in the
+ * middle row, whichever way gives the smaller key is used), and the key then holds N, the exit
+ * position, the target car, and the remaining cars sorted by their packed coordinates. Mirroring
+ * left to right is not a symmetry, since a puzzle is only solved when the front of the target car
+ * (its highest coordinate) reaches the exit. Two boards get equal keys exactly when one can be
+ * turned into the other by these symmetries, and the form remembers where each of the board's cars
+ * ended up and which of them move the opposite way, so moves recorded against the canonical board
+ * can be translated back to the board's own.
+ */
+public final class CanonicalForm {
+  // Number of ints of the key ahead of the cars
+  static final int KEY_HEADER_SIZE = 3;
+
+  // N, exit position, then the packed cars in canonical order
+  int[] key;
+  // Index in the board of the car at each canonical index, and the other way around
+  int[] boardIndex;
+  int[] canonicalIndex;
+  // Whether the car at each canonical index moves the opposite way in the board
+  boolean[] reversed;
+
+  // Explicit value constructor
+  public CanonicalForm(Board board) {
+    if (board == null) {
+      throw new IllegalArgumentException("Board cannot be null");
+    }
+    boolean transposed = board.numberOfCars() > 0 && !board.cars().get(0).isHorizontal();
+    int exitRow = transposed ? board.exitXPosition() : board.exitYPosition();
+    int mirroredExitRow = board.N() - 1 - exitRow;
+    build(board, transposed, exitRow > mirroredExitRow);
+    if (exitRow == mirroredExitRow) {
+      // Either way round puts the exit in the same place, so keep the smaller key
+      CanonicalForm mirrored = new CanonicalForm(board, transposed, true);
+      if (Arrays.compare(mirrored.key, key) < 0) {
+        this.key = mirrored.key;
+        this.boardIndex = mirrored.boardIndex;
+        this.canonicalIndex = mirrored.canonicalIndex;
+        this.reversed = mirrored.reversed;
+      }
+    }
+  }
+
+  // Constructor for a given orientation of a board
+  private CanonicalForm(Board board, boolean transposed, boolean mirrored) {
+    build(board, transposed, mirrored);
+  }
+
+  // Constructor for a key read back from storage, which carries no car order of its own
+  CanonicalForm(int[] key) {
+    this.key = key;
+  }
+
+  // Index in the board of the car at a given canonical index
+  public int boardIndex(int canonicalCarIndex) {
+    return boardIndex[canonicalCarIndex];
+  }
+
+  // Canonical index of the car at a given index in the board
+  public int canonicalIndex(int carIndex) {
+    return canonicalIndex[carIndex];
+  }
+
+  // Translate a move sequence of the board into moves against the canonical car order
+  int[] toCanonicalMoves(MoveSequence moves) {
+    int[] canonical = new int[moves.numberOfMoves()];
+    for (int i = 0; i < canonical.length; i++) {
+      int c = canonicalIndex[moves.carIndex(i)];
+      canonical[i] = MoveSequence.packMove(c, reversed[c] ? -moves.displacement(i) : moves.displacement(i));
+    }
+    return canonical;
+  }
+
+  // Translate moves against the canonical car order into a move sequence of the board
+  MoveSequence toMoveSequence(Board board, int[] canonicalMoves) {
+    int[] moves = new int[canonicalMoves.length];
+    for (int i = 0; i < moves.length; i++) {
+      int c = MoveSequence.carIndexOf(canonicalMoves[i]);
+      int displacement = MoveSequence.displacementOf(canonicalMoves[i]);
+      moves[i] = MoveSequence.packMove(boardIndex[c], reversed[c] ? -displacement : displacement);
+    }
+    return new MoveSequence(board, moves);
+  }
+
+  // Helper function to fill in the key and car order of a board turned a given way
+  private void build(Board board, boolean transposed, boolean mirrored) {
+    int N = board.N();
+    int numberOfCars = board.numberOfCars();
+    this.key = new int[KEY_HEADER_SIZE + numberOfCars];
+    key[0] = N;
+    key[1] = transposed ? board.exitYPosition() : board.exitXPosition();
+    key[2] = transposed ? board.exitXPosition() : board.exitYPosition();
+    if (mirrored) {
+      key[2] = N - 1 - key[2];
+    }
+
+    // Sort the cars after the target by packed coordinates, carrying their indices along in the low
+    // bits
+    long[] sorted = new long[Math.max(0, numberOfCars - 1)];
+    for (int i = 1; i < numberOfCars; i++) {
+      sorted[i - 1] = (long) packCar(board.cars().get(i), N, transposed, mirrored) << 32 | i;
+    }
+    Arrays.sort(sorted);
+    this.boardIndex = new int[numberOfCars];
+    this.canonicalIndex = new int[numberOfCars];
+    this.reversed = new boolean[numberOfCars];
+    if (numberOfCars > 0) {
+      key[KEY_HEADER_SIZE] = packCar(board.cars().get(0), N, transposed, mirrored);
+    }
+    for (int c = 1; c < numberOfCars; c++) {
+      boardIndex[c] = (int) sorted[c - 1];
+      key[KEY_HEADER_SIZE + c] = (int) (sorted[c - 1] >>> 32);
+    }
+    for (int c = 0; c < numberOfCars; c++) {
+      canonicalIndex[boardIndex[c]] = c;
+      // Mirroring top to bottom turns the cars that end up vertical around
+      reversed[c] = mirrored && (key[KEY_HEADER_SIZE + c] & 1) == 0;
+    }
+  }
+
+  // Helper function to pack a car, turned the same way as the board, into a non-negative int
+  // ordered by position, then length and orientation
+  private static int packCar(Car c, int N, boolean transposed, boolean mirrored) {
+    int x = transposed ? c.yPosition() : c.xPosition();
+    int y = transposed ? c.xPosition() : c.yPosition();
+    boolean horizontal = c.isHorizontal() != transposed;
+    if (mirrored) {
+      // The front of a vertical car is its highest cell, which was its lowest before mirroring
+      y = horizontal ? N - 1 - y : N - 1 - (y - c.length() + 1);
+    }
+    return y << 20 | x << 8 | c.length() << 1 | (horizontal ? 1 : 0);
+  }
+
+  // Hash code generation function
+  @Override
+  public int hashCode() {
+    return Arrays.hashCode(key);
+  }
+
+  // Equality operator override (two forms are equal if they describe the same puzzle)
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (obj == null || this.getClass() != obj.getClass()) {
+      return false;
+    }
+    return Arrays.equals(this.key, ((CanonicalForm) obj).key);
+  }
+}
\ No newline at end of file
@@ -1,78 +1,106 @@
 package com.rushhour;
 
 import java.util.ArrayList;
-import java.util.Deque;
-import java.util.HashSet;
-import java.util.LinkedList;
 import java.util.List;
 
 public class DepthFirstSolver implements Solver {
   Board initialState;
-  HashSet<Board> visited;
-  Deque<Board> stack;
-  
+  BoardLayout layout;
+  MoveModel moveModel;
+  MoveGenerator moveGenerator;
+  // Every state seen so far along with its parent, so the chain of parents from the state being
+  // explored doubles as the dfs stack
+  StateTable visited;
+  int current;
+  SearchStatistics statistics = new SearchStatistics();
+
   public DepthFirstSolver(Board initialState) {
+    this(initialState, MoveModel.SINGLE_STEP);
+  }
+
+  public DepthFirstSolver(Board initialState, MoveModel moveModel) {
     if (initialState == null) {
       throw new IllegalArgumentException("Initial state cannot be null");
     }
     if (!initialState.validateCars()) {
       throw new IllegalArgumentException("Initial state contains a positional conflict");
     }
+    if (moveModel == null) {
+      throw new IllegalArgumentException("Move model cannot be null");
+    }
     this.initialState = initialState;
-    this.visited = new HashSet<>();
-    this.visited.add(initialState);
-    this.stack = new LinkedList<>();
-    this.stack.addFirst(initialState);
+    this.layout = new BoardLayout(initialState);
+    this.moveModel = moveModel;
+    this.moveGenerator = new MoveGenerator(layout, moveModel);
+    this.visited = new StateTable();
+    this.current = visited.add(layout.encode(initialState), StateTable.NO_PARENT, 0);
   }
 
   @Override
   public List<Board> solveProblem() {
-    int numberOfCars = initialState.numberOfCars();
+    // If a solution wasn't found, return an empty list
+    if (!search()) {
+      return new ArrayList<>();
+    }
 
+    // Solution was found, find the certificate from the chain of parents and return it, converting
+    // back to boards only now
+    long time = System.nanoTime();
+    long[] path = visited.path(current);
+    ArrayList<Board> solution = new ArrayList<>(path.length);
+    for (long state : path) {
+      solution.add(layout.decode(state));
+    }
+    statistics.phase(SearchStatistics.CERTIFICATE, time);
+    return solution;
+  }
+
+  @Override
+  public MoveSequence solveToMoves() {
+    if (!search()) {
+      return null;
+    }
+    long time = System.nanoTime();
+    MoveSequence moves = MoveSequence.fromStates(initialState, layout, visited.path(current));
+    statistics.phase(SearchStatistics.CERTIFICATE, time);
+    return moves;
+  }
+
+  @Override
+  public SearchStatistics statistics() {
+    return statistics;
+  }
+
+  // Helper function to search until a win state is found, returning whether one was (the chain of
+  // parents from the current state is then the certificate)
+  private boolean search() {
     // Perform dfs until the stack is empty or until a win state is found
-    Board u;
-    Board v;
+    long time = System.nanoTime();
     boolean solutionFound = false;
-    while (!solutionFound && stack.peek() != null) {
-      u = stack.removeFirst();
-      if (u.solutionFound()) {
+    while (!solutionFound && current != StateTable.NO_PARENT) {
+      long state = visited.state(current);
+      if (layout.isSolved(state)) {
         solutionFound = true;
-        stack.addFirst(u);
       } else {
-        // Try to move each car in the cars list one unit
-        for (int i = 0; i < numberOfCars; i++) {
-          v = u.tryMove(i, true); // Try to move the ith car forward, then backward
-          if (v != null && !visited.contains(v)) {
-            visited.add(v);
-            stack.addFirst(u);
-            stack.addFirst(v);
-            break;
-          }
-          v = u.tryMove(i, false); // Movind forward didn't work, try moving backward
-          if (v != null && !visited.contains(v)) {
-            visited.add(v);
-            stack.addFirst(u);
-            stack.addFirst(v);
-            break;
-          }
+        // Step to the first legal move (in car order, forward before backward) to an unvisited
+        // state, or back up to the parent if there isn't one
+        int next = StateTable.NOT_FOUND;
+        int numberOfMoves = moveGenerator.generate(state);
+        int i = 0;
+        for (; i < numberOfMoves && next == StateTable.NOT_FOUND; i++) {
+          next = visited.add(moveGenerator.successor(i), current, visited.distance(current) + 1);
+        }
+        // Only the successors looked at count as generated, and all but a new one were duplicates
+        statistics.expanded(i);
+        statistics.duplicates += next != StateTable.NOT_FOUND ? i - 1 : i;
+        current = next != StateTable.NOT_FOUND ? next : visited.parent(current);
+        if (current != StateTable.NO_PARENT) {
+          statistics.frontier(visited.distance(current) + 1);
         }
       }
     }
-
-    // If a solution wasn't found, return an empty list
-    if (!solutionFound) {
-      return new ArrayList<>();
-    }
-
-    // Solution was found, find the certificate from the stack and return it
-    int solutionLength = stack.size();
-    ArrayList<Board> solution = new ArrayList<>(solutionLength);
-    for (int i = 0; i < solutionLength; i++) {
-      solution.add(null);
-    }
-    for (int i = solutionLength - 1; i >= 0; i--) {
-      solution.set(i, stack.removeFirst());
-    }
-    return solution;
+    statistics.visited(visited.size());
+    statistics.phase(SearchStatistics.SEARCH, time);
+    return solutionFound;
   }
 }
\ No newline at end of file
@@ -0,0 +1,229 @@
+package com.rushhour;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Rush Hour Disk Solution Cache, a persistent solution cache kept in a memory-mapped file so that
+ * certificates survive from one run to the next. The file starts with a 16 byte header (the magic
+ * number, the format version, and the number of bytes in use), followed by one record per board
+ * and move model holding the length and ints of the board's canonical key, the move model, the
+ * number of moves, and the packed moves against the canonical car order. Records are only ever
+ * appended, and an index from key to record is rebuilt in memory when the file is opened. The
+ * mapping is grown by remapping when it fills up. The file is locked while it is open, so opening
+ * a cache already open in another process fails, and a cache already open in this JVM is refused
+ * before the file is touched (closing a second channel could otherwise release the first one's
+ * lock).
+ */
+public final class DiskSolutionCache implements SolutionCache, Closeable {
+  // "RHSC"
+  static final int MAGIC = 0x52485343;
+  static final short VERSION = 3;
+  static final int HEADER_SIZE = 16;
+  // Position of the number of bytes in use in the header
+  private static final int END_OFFSET = 8;
+  // Size of the first mapping of a new file
+  private static final int INITIAL_CAPACITY = 1 << 20;
+  // Absolute paths of the caches open in this JVM
+  private static final Set<Path> OPEN_PATHS = ConcurrentHashMap.newKeySet();
+
+  final Path path;
+  // Absolute path the cache is registered as open under
+  final Path openPath;
+  final FileChannel channel;
+  // Lock on the whole file, held until the cache is closed
+  final FileLock lock;
+  MappedByteBuffer buffer;
+  // End of the last record
+  int end;
+  // Offset of the record of each cached key
+  final HashMap<CacheKey, Integer> index = new HashMap<>();
+  // Whether the cache has been closed, after which the mapping must not be touched
+  boolean closed;
+
+  public DiskSolutionCache(Path path) throws IOException {
+    this(path, INITIAL_CAPACITY);
+  }
+
+  // Constructor mapping at least a given number of bytes to begin with
+  DiskSolutionCache(Path path, int initialCapacity) throws IOException {
+    this.path = path;
+    this.openPath = path.toAbsolutePath().normalize();
+    if (!OPEN_PATHS.add(openPath)) {
+      throw new IOException("Solution cache is already open: " + path);
+    }
+    try {
+      this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                                      StandardOpenOption.WRITE);
+    } catch (IOException | RuntimeException e) {
+      OPEN_PATHS.remove(openPath);
+      throw e;
+    }
+    try {
+      this.lock = lock(channel, path);
+      long fileSize = channel.size();
+      if (fileSize > Integer.MAX_VALUE) {
+        throw new IOException("Solution cache is too large: " + path);
+      }
+      this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0,
+                                Math.max(fileSize, Math.max(initialCapacity, HEADER_SIZE)));
+      if (fileSize == 0) {
+        buffer.putInt(0, MAGIC).putShort(4, VERSION).putLong(END_OFFSET, HEADER_SIZE);
+      } else if (fileSize < HEADER_SIZE || buffer.getInt(0) != MAGIC) {
+        throw new IOException("Not a solution cache: " + path);
+      } else if (buffer.getShort(4) != VERSION) {
+        throw new IOException("Unsupported solution cache version " + buffer.getShort(4));
+      }
+      this.end = (int) buffer.getLong(END_OFFSET);
+      if (end < HEADER_SIZE || (fileSize != 0 && end > fileSize)) {
+        throw new IOException("Solution cache is corrupt: " + path);
+      }
+
+      // Rebuild the index from the records
+      int offset = HEADER_SIZE;
+      while (offset < end) {
+        // The key, move model and number of moves must all lie within the records in use
+        int keyLength = offset + 4 > end ? -1 : buffer.getInt(offset);
+        if (keyLength < 0 || offset + 4L * (keyLength + 3) > end) {
+          throw new IOException("Solution cache is corrupt: " + path);
+        }
+        int[] key = new int[keyLength];
+        for (int i = 0; i < keyLength; i++) {
+          key[i] = buffer.getInt(offset + 4 * (i + 1));
+        }
+        int moveModel = buffer.getInt(offset + 4 * (keyLength + 1));
+        if (moveModel < 0 || moveModel >= MoveModel.values().length) {
+          throw new IOException("Solution cache is corrupt: " + path);
+        }
+        int movesOffset = offset + 4 * (keyLength + 2);
+        int numberOfMoves = buffer.getInt(movesOffset);
+        if (numberOfMoves < 0 || movesOffset + 4L * (numberOfMoves + 1) > end) {
+          throw new IOException("Solution cache is corrupt: " + path);
+        }
+        index.put(new CacheKey(key, MoveModel.values()[moveModel]), offset);
+        offset = movesOffset + 4 * (numberOfMoves + 1);
+      }
+    } catch (IOException | RuntimeException e) {
+      channel.close();
+      OPEN_PATHS.remove(openPath);
+      throw e;
+    }
+  }
+
+  @Override
+  public synchronized MoveSequence get(Board board, MoveModel moveModel) {
+    checkOpen();
+    CanonicalForm form = new CanonicalForm(board);
+    Integer offset = index.get(new CacheKey(form.key, moveModel));
+    if (offset == null) {
+      return null;
+    }
+    int movesOffset = offset + 4 * (buffer.getInt(offset) + 2);
+    int[] moves = new int[buffer.getInt(movesOffset)];
+    for (int i = 0; i < moves.length; i++) {
+      moves[i] = buffer.getInt(movesOffset + 4 * (i + 1));
+    }
+    return form.toMoveSequence(board, moves);
+  }
+
+  @Override
+  public synchronized void put(Board board, MoveModel moveModel, MoveSequence moves) {
+    if (moves == null) {
+      throw new IllegalArgumentException("Moves cannot be null");
+    }
+    checkOpen();
+    CanonicalForm form = new CanonicalForm(board);
+    CacheKey key = new CacheKey(form.key, moveModel);
+    if (index.containsKey(key)) {
+      return;
+    }
+    int[] canonicalMoves = form.toCanonicalMoves(moves);
+    long recordSize = 4L * (form.key.length + canonicalMoves.length + 3);
+    ensureCapacity(end + recordSize);
+
+    int offset = end;
+    int p = offset;
+    buffer.putInt(p, form.key.length);
+    for (int k : form.key) {
+      buffer.putInt(p += 4, k);
+    }
+    buffer.putInt(p += 4, moveModel.ordinal());
+    buffer.putInt(p += 4, canonicalMoves.length);
+    for (int m : canonicalMoves) {
+      buffer.putInt(p += 4, m);
+    }
+    // Only publish the record once it is complete
+    end = (int) (offset + recordSize);
+    buffer.putLong(END_OFFSET, end);
+    index.put(key, offset);
+  }
+
+  // Number of boards in the cache
+  public synchronized int size() {
+    return index.size();
+  }
+
+  // Helper function to refuse to read or write a closed cache
+  private void checkOpen() {
+    if (closed) {
+      throw new IllegalStateException("Solution cache is closed: " + path);
+    }
+  }
+
+  // Helper function to lock a cache file for as long as it is open
+  private static FileLock lock(FileChannel channel, Path path) throws IOException {
+    FileLock lock;
+    try {
+      lock = channel.tryLock();
+    } catch (OverlappingFileLockException e) {
+      // Already locked by this JVM
+      lock = null;
+    }
+    if (lock == null) {
+      throw new IOException("Solution cache is already open: " + path);
+    }
+    return lock;
+  }
+
+  // Helper function to remap the file with room for at least a given number of bytes
+  private void ensureCapacity(long capacity) {
+    if (capacity <= buffer.capacity()) {
+      return;
+    }
+    if (capacity > Integer.MAX_VALUE) {
+      throw new RuntimeException("Solution cache is full: " + path);
+    }
+    try {
+      buffer.force();
+      buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0,
+                           Math.min(Integer.MAX_VALUE, Math.max(capacity, 2L * buffer.capacity())));
+    } catch (IOException e) {
+      throw new RuntimeException("Could not grow solution cache: " + path, e);
+    }
+  }
+
+  // Write the records to disk and trim the file to the records in use (closing again does nothing)
+  @Override
+  public synchronized void close() throws IOException {
+    if (closed) {
+      return;
+    }
+    closed = true;
+    try {
+      buffer.force();
+      channel.truncate(end);
+    } finally {
+      channel.close();
+      OPEN_PATHS.remove(openPath);
+    }
+  }
+}
\ No newline at end of file
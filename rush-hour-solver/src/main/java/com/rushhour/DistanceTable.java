@@ -0,0 +1,227 @@
+package com.rushhour;
+
+import java.util.Arrays;
+
+/**
+ * Rush Hour Distance Table, the exact number of moves left to solve every state of a car layout.
+ * Every puzzle with the same board, exit and cars (lengths, orientations and lanes) shares one
+ * state space, so the whole space is solved once by a breadth-first search run backwards from
+ * every win state, and any puzzle with the layout is then answered by a lookup, with its
+ * certificate read off the chain of states the search reached it through. Cars sharing a lane
+ * can never pass each other, so only states keeping them in the order of the board the table was
+ * built from are searched, and boards with them in another order are refused. Only the states that can
+ * reach a win state are held, in a hash table of packed states (about 24 to 48 bytes each,
+ * depending on how full the arrays are), and a layout with more of them than the table's budget
+ * (8,388,608 states by default, so a few hundred megabytes at most) is refused.
+ */
+public final class DistanceTable {
+  // Largest number of states a table holds unless given another budget
+  static final int DEFAULT_MAXIMUM_STATES = 1 << 23;
+
+  final BoardLayout layout;
+  final MoveModel moveModel;
+  final MoveGenerator moveGenerator;
+  final int numberOfCars;
+  final int maximumStates;
+  // Pairs of cars sharing a lane (the first with the lower index), and whether the second is
+  // further along the lane than the first in every state of the table
+  final int[] laneFirst;
+  final int[] laneSecond;
+  final boolean[] laneAhead;
+  // Every state that can reach a win state, with its distance and the index of the state one move
+  // closer that the search reached it from
+  final StateTable states;
+  int maximumDistance;
+
+  public DistanceTable(Board board) {
+    this(board, MoveModel.SINGLE_STEP);
+  }
+
+  public DistanceTable(Board board, MoveModel moveModel) {
+    this(board, moveModel, DEFAULT_MAXIMUM_STATES);
+  }
+
+  // Constructor holding at most a given number of states, throwing IllegalArgumentException if the
+  // layout has more states that can reach a win state
+  public DistanceTable(Board board, MoveModel moveModel, int maximumStates) {
+    if (board == null) {
+      throw new IllegalArgumentException("Board cannot be null");
+    }
+    if (moveModel == null) {
+      throw new IllegalArgumentException("Move model cannot be null");
+    }
+    if (maximumStates <= 0) {
+      throw new IllegalArgumentException("Maximum number of states must be positive");
+    }
+    this.layout = new BoardLayout(board);
+    this.moveModel = moveModel;
+    this.moveGenerator = new MoveGenerator(layout, moveModel);
+    this.numberOfCars = layout.numberOfCars();
+    this.maximumStates = maximumStates;
+    long initial = layout.encode(board);
+    int pairs = 0;
+    int[] first = new int[numberOfCars * numberOfCars];
+    int[] second = new int[first.length];
+    boolean[] ahead = new boolean[first.length];
+    for (int j = 0; j < numberOfCars; j++) {
+      for (int i = 0; i < j; i++) {
+        if (layout.isHorizontal(i) == layout.isHorizontal(j) && layout.lane(i) == layout.lane(j)) {
+          first[pairs] = i;
+          second[pairs] = j;
+          ahead[pairs++] = layout.position(initial, j) > layout.position(initial, i);
+        }
+      }
+    }
+    this.laneFirst = Arrays.copyOf(first, pairs);
+    this.laneSecond = Arrays.copyOf(second, pairs);
+    this.laneAhead = Arrays.copyOf(ahead, pairs);
+    this.states = new StateTable();
+    retrogradeSearch();
+  }
+
+  // Number of moves needed to solve a board with this layout, or -1 if it can't be solved
+  public int distance(Board board) {
+    return distance(encode(board));
+  }
+
+  // Number of moves needed to solve a packed state of this layout, or -1 if it can't be solved
+  // (throws if cars sharing a lane are in another order than in the table)
+  public int distance(long state) {
+    checkLaneOrder(state);
+    int index = states.indexOf(state);
+    return index == StateTable.NOT_FOUND ? -1 : states.distance(index);
+  }
+
+  // Find a shortest certificate for a board with this layout, or null if the board can't be solved
+  public MoveSequence solve(Board board) {
+    int index = states.indexOf(encode(board));
+    if (index == StateTable.NOT_FOUND) {
+      return null;
+    }
+    // The chain of states leads from a win state to the board, so it is walked the other way
+    long[] path = states.path(index);
+    for (int i = 0, j = path.length - 1; i < j; i++, j--) {
+      long state = path[i];
+      path[i] = path[j];
+      path[j] = state;
+    }
+    return MoveSequence.fromStates(board, layout, path);
+  }
+
+  // Number of states that can reach a win state
+  public int reachableStates() {
+    return states.size();
+  }
+
+  // Largest distance of any state in the table
+  public int maximumDistance() {
+    return maximumDistance;
+  }
+
+  // Helper function to encode a board (which throws if it doesn't have this layout, or has cars
+  // sharing a lane in another order)
+  private long encode(Board board) {
+    if (board == null) {
+      throw new IllegalArgumentException("Board cannot be null");
+    }
+    long state = layout.encode(board);
+    checkLaneOrder(state);
+    return state;
+  }
+
+  // Helper function to throw if cars sharing a lane are in another order than in the table
+  private void checkLaneOrder(long state) {
+    for (int k = 0; k < laneFirst.length; k++) {
+      if (!inLaneOrder(k, layout.position(state, laneSecond[k]), state)) {
+        throw new IllegalArgumentException("Board has cars sharing a lane in another order than the table");
+      }
+    }
+  }
+
+  // Helper function to check whether the second car of a pair sharing a lane is on the right side
+  // of the first when its front is at a given position
+  private boolean inLaneOrder(int pair, int secondFront, long state) {
+    return (secondFront > layout.position(state, laneFirst[pair])) == laneAhead[pair];
+  }
+
+  // Helper function to fill in the table by a breadth-first search from every win state at once,
+  // using the table itself as the queue. Moves can always be undone, so the successors of a state
+  // are also its predecessors.
+  private void retrogradeSearch() {
+    if (layout.targetExitPosition < 0) {
+      return;
+    }
+    boolean[] occupied = new boolean[layout.N() * layout.N()];
+    paint(0, layout.targetExitPosition, occupied, true);
+    placeCars(1, layout.withPosition(0L, 0, layout.targetExitPosition), occupied);
+
+    for (int head = 0; head < states.size(); head++) {
+      int d = states.distance(head) + 1;
+      int numberOfMoves = moveGenerator.generate(states.state(head));
+      for (int i = 0; i < numberOfMoves; i++) {
+        if (states.add(moveGenerator.successor(i), head, d) != StateTable.NOT_FOUND) {
+          maximumDistance = d;
+          checkSize();
+        }
+      }
+    }
+  }
+
+  // Helper function to add every win state by placing the remaining cars in turn wherever they
+  // fit around the cars placed so far
+  private void placeCars(int carIndex, long partialState, boolean[] occupied) {
+    if (carIndex == numberOfCars) {
+      states.add(partialState, StateTable.NO_PARENT, 0);
+      checkSize();
+      return;
+    }
+    for (int front = layout.length(carIndex) - 1; front < layout.N(); front++) {
+      if (fits(carIndex, front, occupied) && keepsLaneOrder(carIndex, front, partialState)) {
+        paint(carIndex, front, occupied, true);
+        placeCars(carIndex + 1, layout.withPosition(partialState, carIndex, front), occupied);
+        paint(carIndex, front, occupied, false);
+      }
+    }
+  }
+
+  // Helper function to check whether a car placed with its front at a given position keeps the
+  // order of the cars already placed in its lane
+  private boolean keepsLaneOrder(int carIndex, int front, long partialState) {
+    for (int k = 0; k < laneSecond.length; k++) {
+      if (laneSecond[k] == carIndex && !inLaneOrder(k, front, partialState)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  // Helper function to stop the search once the table holds more states than its budget
+  private void checkSize() {
+    if (states.size() > maximumStates) {
+      throw new IllegalArgumentException("Layout has more than " + maximumStates
+                                         + " states that can reach a win state for a distance table");
+    }
+  }
+
+  // Helper function to check whether a car fits with its front at a given position
+  private boolean fits(int carIndex, int front, boolean[] occupied) {
+    for (int p = front - layout.length(carIndex) + 1; p <= front; p++) {
+      if (occupied[cell(carIndex, p)]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  // Helper function to mark or clear the cells covered by a car with its front at a given position
+  private void paint(int carIndex, int front, boolean[] occupied, boolean value) {
+    for (int p = front - layout.length(carIndex) + 1; p <= front; p++) {
+      occupied[cell(carIndex, p)] = value;
+    }
+  }
+
+  // Helper function to find the grid index of a position along the lane of a car
+  private int cell(int carIndex, int p) {
+    return layout.isHorizontal(carIndex) ? layout.lane(carIndex) * layout.N() + p : p * layout.N() + layout.lane(carIndex);
+  }
+}
\ No newline at end of file
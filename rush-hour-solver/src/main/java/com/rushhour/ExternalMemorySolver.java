@@ -0,0 +1,427 @@
+package com.rushhour;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.stream.Stream;
+
+/**
+ * Rush Hour External Memory Solver, a breadth-first search whose layers live on disk rather than
+ * in the heap, so puzzles with far more states than fit in memory can still be solved. Successors
+ * of a layer are collected in memory up to a fixed number at a time, each batch sorted and written
+ * out as a run, and the runs are then merged into the next layer file while duplicates are
+ * dropped by streaming through the sorted current and previous layers (since moves can be undone,
+ * a successor can't be any older). Runs are merged through a priority queue of their heads, at
+ * most a fixed number at a time, so a layer with more runs than that is first merged down in
+ * several passes. Every layer is kept until the search is done, and the certificate is rebuilt
+ * backwards from the win state by finding, for each state, a neighbour in the layer before it
+ * with a binary search of that layer's file. States are written as the single long packed by
+ * BoardLayout, so only boards whose cars fit in 63 bits are accepted: at most 21 cars on an 8x8 or
+ * 9x9 board (3 bits each), and on a 10x10 board at most 15 cars if they all have length 2 (4 bits
+ * each) or 21 if they all have length 3. Only the number of states is unbounded, not the layout.
+ */
+public class ExternalMemorySolver implements Solver {
+  // Number of states collected in memory before a sorted run is written out
+  private static final int DEFAULT_RUN_SIZE = 1 << 20;
+  private static final int BUFFER_SIZE = 1 << 16;
+  // Most runs merged at once (each holds an open file and a buffer while it is merged)
+  private static final int DEFAULT_MERGE_FAN_IN = 64;
+
+  Board initialState;
+  BoardLayout layout;
+  MoveModel moveModel;
+  MoveGenerator moveGenerator;
+  // Directory in which each search creates (and afterwards deletes) its working files
+  Path directory;
+  int runSize;
+  int mergeFanIn = DEFAULT_MERGE_FAN_IN;
+  // Buffer the successors of a layer are collected in, grown as needed up to the run size
+  long[] run = new long[1024];
+  SearchStatistics statistics = new SearchStatistics();
+
+  public ExternalMemorySolver(Board initialState) {
+    this(initialState, MoveModel.SINGLE_STEP);
+  }
+
+  public ExternalMemorySolver(Board initialState, MoveModel moveModel) {
+    this(initialState, moveModel, Path.of(System.getProperty("java.io.tmpdir")), DEFAULT_RUN_SIZE);
+  }
+
+  public ExternalMemorySolver(Board initialState, MoveModel moveModel, Path directory, int runSize) {
+    if (initialState == null) {
+      throw new IllegalArgumentException("Initial state cannot be null");
+    }
+    if (!initialState.validateCars()) {
+      throw new IllegalArgumentException("Initial state contains a positional conflict");
+    }
+    if (moveModel == null) {
+      throw new IllegalArgumentException("Move model cannot be null");
+    }
+    if (directory == null || !Files.isDirectory(directory)) {
+      throw new IllegalArgumentException("Directory must be an existing directory");
+    }
+    if (runSize <= 0) {
+      throw new IllegalArgumentException("Run size must be positive");
+    }
+    this.initialState = initialState;
+    this.layout = new BoardLayout(initialState);
+    this.moveModel = moveModel;
+    this.moveGenerator = new MoveGenerator(layout, moveModel);
+    this.directory = directory;
+    this.runSize = runSize;
+  }
+
+  @Override
+  public List<Board> solveProblem() {
+    long[] path = search();
+
+    // If a solution wasn't found, return an empty list
+    if (path == null) {
+      return new LinkedList<>();
+    }
+
+    long time = System.nanoTime();
+    LinkedList<Board> solution = new LinkedList<>();
+    for (long state : path) {
+      solution.addLast(layout.decode(state));
+    }
+    statistics.phase(SearchStatistics.CERTIFICATE, time);
+    return solution;
+  }
+
+  @Override
+  public MoveSequence solveToMoves() {
+    long[] path = search();
+    if (path == null) {
+      return null;
+    }
+    long time = System.nanoTime();
+    MoveSequence moves = MoveSequence.fromStates(initialState, layout, path);
+    statistics.phase(SearchStatistics.CERTIFICATE, time);
+    return moves;
+  }
+
+  @Override
+  public SearchStatistics statistics() {
+    return statistics;
+  }
+
+  // The search finds a shortest certificate
+  @Override
+  public boolean isOptimal() {
+    return true;
+  }
+
+  // Helper function to search layer by layer in a fresh working directory, returning the packed
+  // states of the certificate (or null if the puzzle isn't solvable)
+  private long[] search() {
+    Path work;
+    try {
+      work = Files.createTempDirectory(directory, "rush-hour-bfs");
+    } catch (IOException e) {
+      throw new RuntimeException("Could not create working directory in " + directory, e);
+    }
+    RuntimeException failure = null;
+    try {
+      return search(work);
+    } catch (IOException e) {
+      failure = new RuntimeException("External memory search failed", e);
+      throw failure;
+    } catch (RuntimeException e) {
+      failure = e;
+      throw e;
+    } finally {
+      try {
+        delete(work);
+      } catch (RuntimeException e) {
+        // A failed clean up mustn't hide why the search failed
+        if (failure == null) {
+          throw e;
+        }
+        failure.addSuppressed(e);
+      }
+    }
+  }
+
+  // Helper function to search with layer files in a given directory
+  private long[] search(Path work) throws IOException {
+    long time = System.nanoTime();
+    long start = layout.encode(initialState);
+    List<Path> layers = new ArrayList<>();
+    layers.add(work.resolve("layer-0"));
+    writeRun(layers.get(0), new long[] {start}, 1);
+    long totalStates = 1;
+
+    long winState = layout.isSolved(start) ? start : BoardLayout.NO_STATE;
+    long layerSize = 1;
+    while (winState == BoardLayout.NO_STATE && layerSize > 0) {
+      int depth = layers.size() - 1;
+      List<Path> runs = expandLayer(layers.get(depth), work);
+      Path next = work.resolve("layer-" + (depth + 1));
+      long[] result = mergeRuns(runs, depth > 0 ? layers.get(depth - 1) : null, layers.get(depth), next, work);
+      layers.add(next);
+      layerSize = result[0];
+      winState = result[1];
+      totalStates += layerSize;
+      statistics.frontier((int) Math.min(Integer.MAX_VALUE, layerSize));
+    }
+    statistics.visited((int) Math.min(Integer.MAX_VALUE, totalStates));
+    statistics.phase(SearchStatistics.SEARCH, time);
+    if (winState == BoardLayout.NO_STATE) {
+      return null;
+    }
+
+    // Walk back from the win state through a neighbour in each earlier layer
+    long[] path = new long[layers.size()];
+    path[path.length - 1] = winState;
+    for (int depth = path.length - 2; depth >= 0; depth--) {
+      try (FileChannel layer = FileChannel.open(layers.get(depth), StandardOpenOption.READ)) {
+        int numberOfMoves = moveGenerator.generate(path[depth + 1]);
+        for (int i = 0; i < numberOfMoves; i++) {
+          if (contains(layer, moveGenerator.successor(i))) {
+            path[depth] = moveGenerator.successor(i);
+            break;
+          }
+        }
+      }
+    }
+    return path;
+  }
+
+  // Helper function to expand every state of a layer, writing the successors out in sorted runs
+  private List<Path> expandLayer(Path layer, Path work) throws IOException {
+    List<Path> runs = new ArrayList<>();
+    int size = 0;
+    try (StateReader reader = new StateReader(layer)) {
+      while (reader.hasState()) {
+        int numberOfMoves = moveGenerator.generate(reader.state());
+        statistics.expanded(numberOfMoves);
+        for (int i = 0; i < numberOfMoves; i++) {
+          if (size == run.length && run.length < runSize) {
+            run = Arrays.copyOf(run, (int) Math.min((long) run.length * 2, runSize));
+          } else if (size == run.length) {
+            runs.add(sortAndWriteRun(work, runs.size(), run, size));
+            size = 0;
+          }
+          run[size++] = moveGenerator.successor(i);
+        }
+        reader.advance();
+      }
+    }
+    if (size > 0) {
+      runs.add(sortAndWriteRun(work, runs.size(), run, size));
+    }
+    return runs;
+  }
+
+  // Helper function to sort a run, drop its duplicates and write it to a new file
+  private Path sortAndWriteRun(Path work, int number, long[] run, int size) throws IOException {
+    Arrays.sort(run, 0, size);
+    int unique = 0;
+    for (int i = 0; i < size; i++) {
+      if (unique == 0 || run[i] != run[unique - 1]) {
+        run[unique++] = run[i];
+      } else {
+        statistics.duplicate();
+      }
+    }
+    Path file = work.resolve("run-" + number);
+    writeRun(file, run, unique);
+    return file;
+  }
+
+  // Helper function to merge sorted runs into the next layer, dropping states found in any run
+  // before or in the previous or current layer, and deleting the runs. Returns the number of
+  // states in the next layer and the first win state among them (or NO_STATE).
+  private long[] mergeRuns(List<Path> runs, Path previous, Path current, Path next, Path work) throws IOException {
+    runs = mergeDown(runs, work);
+    long[] result = {0, BoardLayout.NO_STATE};
+    try (StateReader previousLayer = previous == null ? null : new StateReader(previous);
+         StateReader currentLayer = new StateReader(current);
+         DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(next), BUFFER_SIZE))) {
+      merge(runs, state -> {
+        if (currentLayer.skipTo(state) || (previousLayer != null && previousLayer.skipTo(state))) {
+          statistics.duplicate();
+          return;
+        }
+        out.writeLong(state);
+        result[0]++;
+        if (result[1] == BoardLayout.NO_STATE && layout.isSolved(state)) {
+          result[1] = state;
+        }
+      });
+    }
+    for (Path run : runs) {
+      Files.delete(run);
+    }
+    return result;
+  }
+
+  // Helper function to merge groups of runs into single runs, pass after pass, until there are no
+  // more runs than can be merged at once, deleting the runs merged
+  private List<Path> mergeDown(List<Path> runs, Path work) throws IOException {
+    for (int pass = 0; runs.size() > mergeFanIn; pass++) {
+      List<Path> merged = new ArrayList<>();
+      for (int i = 0; i < runs.size(); i += mergeFanIn) {
+        List<Path> group = runs.subList(i, Math.min(runs.size(), i + mergeFanIn));
+        if (group.size() == 1) {
+          merged.add(group.get(0));
+          continue;
+        }
+        Path file = work.resolve("merge-" + pass + "-" + merged.size());
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file), BUFFER_SIZE))) {
+          merge(group, out::writeLong);
+        }
+        for (Path run : group) {
+          Files.delete(run);
+        }
+        merged.add(file);
+      }
+      runs = merged;
+    }
+    return runs;
+  }
+
+  // Helper function to merge sorted runs, handing each distinct state to a sink in order (states
+  // found in more than one run are counted as duplicates)
+  private void merge(List<Path> runs, StateSink sink) throws IOException {
+    List<StateReader> readers = new ArrayList<>(runs.size());
+    PriorityQueue<StateReader> heads = new PriorityQueue<>(Math.max(1, runs.size()),
+                                                           Comparator.comparingLong(StateReader::state));
+    try {
+      for (Path run : runs) {
+        StateReader reader = new StateReader(run);
+        readers.add(reader);
+        if (reader.hasState()) {
+          heads.add(reader);
+        }
+      }
+      long last = BoardLayout.NO_STATE;
+      while (!heads.isEmpty()) {
+        StateReader smallest = heads.poll();
+        long state = smallest.state();
+        smallest.advance();
+        if (smallest.hasState()) {
+          heads.add(smallest);
+        }
+        if (state == last) {
+          statistics.duplicate();
+          continue;
+        }
+        last = state;
+        sink.accept(state);
+      }
+    } finally {
+      for (StateReader r : readers) {
+        r.close();
+      }
+    }
+  }
+
+  // Helper function to write the first states of an array to a file
+  private static void writeRun(Path file, long[] states, int size) throws IOException {
+    try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file), BUFFER_SIZE))) {
+      for (int i = 0; i < size; i++) {
+        out.writeLong(states[i]);
+      }
+    }
+  }
+
+  // Helper function to check whether a sorted layer file holds a state, by binary search
+  private static boolean contains(FileChannel layer, long state) throws IOException {
+    ByteBuffer buffer = ByteBuffer.allocate(Long.BYTES);
+    long low = 0;
+    long high = layer.size() / Long.BYTES - 1;
+    while (low <= high) {
+      long middle = (low + high) >>> 1;
+      buffer.clear();
+      while (buffer.hasRemaining() && layer.read(buffer, middle * Long.BYTES + buffer.position()) >= 0) {
+        continue;
+      }
+      long value = buffer.getLong(0);
+      if (value < state) {
+        low = middle + 1;
+      } else if (value > state) {
+        high = middle - 1;
+      } else {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  // Helper function to delete the working directory and everything in it
+  private static void delete(Path work) {
+    try (Stream<Path> files = Files.list(work)) {
+      for (Path file : (Iterable<Path>) files::iterator) {
+        Files.delete(file);
+      }
+      Files.delete(work);
+    } catch (IOException e) {
+      throw new RuntimeException("Could not delete working directory " + work, e);
+    }
+  }
+
+  // Receiver of the states coming out of a merge
+  private interface StateSink {
+    void accept(long state) throws IOException;
+  }
+
+  // Sequential reader of a sorted file of states, holding the state it is at
+  private static final class StateReader implements Closeable {
+    final DataInputStream in;
+    long state;
+    boolean hasState;
+
+    StateReader(Path file) throws IOException {
+      this.in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file), BUFFER_SIZE));
+      advance();
+    }
+
+    boolean hasState() {
+      return hasState;
+    }
+
+    long state() {
+      return state;
+    }
+
+    // Move on to the next state in the file
+    void advance() throws IOException {
+      try {
+        state = in.readLong();
+        hasState = true;
+      } catch (EOFException e) {
+        hasState = false;
+      }
+    }
+
+    // Move past every state smaller than a given one, returning whether the file holds it
+    boolean skipTo(long target) throws IOException {
+      while (hasState && state < target) {
+        advance();
+      }
+      return hasState && state == target;
+    }
+
+    @Override
+    public void close() throws IOException {
+      in.close();
+    }
+  }
+}
\ No newline at end of file
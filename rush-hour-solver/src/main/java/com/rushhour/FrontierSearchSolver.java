@@ -0,0 +1,291 @@
+package com.rushhour;
+
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.List;
+
+/**
+ * Rush Hour Frontier Search Solver, a breadth-first search that forgets states once they can no
+ * longer be generated again. Moves can be undone, so the successors of a layer all lie in the
+ * previous, current or next layer, and only those three are kept for duplicate detection, each
+ * state tagged with the last move made (so the move undoing it needn't be tried). Instead of a
+ * parent for every state, a single earlier layer is kept as a relay, each state of a later layer
+ * pointing at its ancestor there. The relay moves up to the current layer whenever the depth
+ * doubles, so it always lies in the second half of the certificate. Once a win state is found the
+ * relay gives one state in between, and the rest are filled in by divide and conquer: a search
+ * between two known states, with the relay held halfway, finds the middle state, and each half is
+ * filled the same way.
+ */
+public class FrontierSearchSolver implements Solver {
+  // Last move value of a state no move led to
+  private static final int NO_MOVE = 0;
+
+  Board initialState;
+  BoardLayout layout;
+  MoveModel moveModel;
+  MoveGenerator moveGenerator;
+  SearchStatistics statistics = new SearchStatistics();
+
+  public FrontierSearchSolver(Board initialState) {
+    this(initialState, MoveModel.SINGLE_STEP);
+  }
+
+  public FrontierSearchSolver(Board initialState, MoveModel moveModel) {
+    if (initialState == null) {
+      throw new IllegalArgumentException("Initial state cannot be null");
+    }
+    if (!initialState.validateCars()) {
+      throw new IllegalArgumentException("Initial state contains a positional conflict");
+    }
+    if (moveModel == null) {
+      throw new IllegalArgumentException("Move model cannot be null");
+    }
+    this.initialState = initialState;
+    this.layout = new BoardLayout(initialState);
+    this.moveModel = moveModel;
+    this.moveGenerator = new MoveGenerator(layout, moveModel);
+  }
+
+  @Override
+  public List<Board> solveProblem() {
+    long[] path = search();
+
+    // If a solution wasn't found, return an empty list
+    if (path == null) {
+      return new LinkedList<>();
+    }
+
+    long time = System.nanoTime();
+    LinkedList<Board> solution = new LinkedList<>();
+    for (long state : path) {
+      solution.addLast(layout.decode(state));
+    }
+    statistics.phase(SearchStatistics.CERTIFICATE, time);
+    return solution;
+  }
+
+  @Override
+  public MoveSequence solveToMoves() {
+    long[] path = search();
+    if (path == null) {
+      return null;
+    }
+    long time = System.nanoTime();
+    MoveSequence moves = MoveSequence.fromStates(initialState, layout, path);
+    statistics.phase(SearchStatistics.CERTIFICATE, time);
+    return moves;
+  }
+
+  @Override
+  public SearchStatistics statistics() {
+    return statistics;
+  }
+
+  // The search finds a shortest certificate
+  @Override
+  public boolean isOptimal() {
+    return true;
+  }
+
+  // Helper function to find a win state and rebuild the certificate leading to it, returning its
+  // packed states (or null if the puzzle isn't solvable)
+  private long[] search() {
+    long time = System.nanoTime();
+    long start = layout.encode(initialState);
+    Frontier found = frontierSearch(start, BoardLayout.NO_STATE, 0);
+    statistics.phase(SearchStatistics.SEARCH, time);
+    if (found == null) {
+      return null;
+    }
+
+    // Read the state in the relay off its pointer, then fill the gaps on either side
+    time = System.nanoTime();
+    long[] path = new long[found.depth + 1];
+    path[0] = start;
+    path[found.depth] = found.state;
+    if (found.relay != null) {
+      path[found.relayDepth] = found.relay.state(found.pointer);
+      fill(path, 0, found.relayDepth);
+      fill(path, found.relayDepth, found.depth);
+    }
+    statistics.phase(SearchStatistics.CERTIFICATE, time);
+    return path;
+  }
+
+  // Helper function to fill in the states of a certificate strictly between two known ones
+  private void fill(long[] path, int from, int to) {
+    if (to - from <= 1) {
+      return;
+    }
+    int middle = from + (to - from) / 2;
+    Frontier found = frontierSearch(path[from], path[to], middle - from);
+    path[middle] = found.relay.state(found.pointer);
+    fill(path, from, middle);
+    fill(path, middle, to);
+  }
+
+  // Helper function to search layer by layer from a state until a target state (or any win state if
+  // the target is NO_STATE) is generated, holding the relay at a given depth (or moving it up at
+  // every power of two if the depth is 0). Returns what was found, or null if the target can't be
+  // reached.
+  private Frontier frontierSearch(long from, long target, int relayDepth) {
+    Frontier found = new Frontier();
+    if (from == target || (target == BoardLayout.NO_STATE && layout.isSolved(from))) {
+      found.state = from;
+      return found;
+    }
+
+    Layer previous = new Layer(0);
+    Layer current = new Layer(0);
+    current.add(from, StateTable.NO_PARENT, NO_MOVE);
+    boolean currentIsRelay = false;
+    int depth = 0;
+    while (current.size > 0) {
+      Layer next = new Layer(current.size);
+      for (int i = 0; i < current.size; i++) {
+        long state = current.states[i];
+        int pointer = currentIsRelay ? i : current.pointers[i];
+        int lastMove = current.lastMoves[i] & 0xFF;
+        int numberOfMoves = moveGenerator.generate(state);
+        statistics.expanded(numberOfMoves);
+        for (int j = 0; j < numberOfMoves; j++) {
+          long successor = moveGenerator.successor(j);
+          if (undoes(j, lastMove) || previous.contains(successor) || current.contains(successor)
+              || !next.add(successor, pointer, moveCode(j))) {
+            statistics.duplicate();
+            continue;
+          }
+          if (successor == target || (target == BoardLayout.NO_STATE && layout.isSolved(successor))) {
+            found.depth = depth + 1;
+            found.state = successor;
+            found.pointer = pointer;
+            return found;
+          }
+        }
+      }
+
+      // Move on to the next layer, forgetting the previous one unless it is the relay
+      depth++;
+      previous = current;
+      current = next;
+      currentIsRelay = relayDepth > 0 ? depth == relayDepth : Integer.bitCount(depth) == 1;
+      if (currentIsRelay) {
+        found.relay = current;
+        found.relayDepth = depth;
+      }
+      int held = previous.size + current.size;
+      if (found.relay != null && found.relay != previous && found.relay != current) {
+        held += found.relay.size;
+      }
+      statistics.frontier(current.size);
+      statistics.visited(held);
+    }
+    return null;
+  }
+
+  // Helper function to encode a move as a last move value, which is never NO_MOVE
+  private int moveCode(int move) {
+    return (moveGenerator.movedCar(move) << 1 | (moveGenerator.displacement(move) > 0 ? 1 : 0)) + 1;
+  }
+
+  // Helper function to check whether a move leads straight back to a state already seen, given the
+  // last move value of the state it is made from. Sliding the car that just slid only reaches states
+  // one slide from the previous state, and a single step of the car that just stepped only reaches
+  // a new state if it keeps going the same way.
+  private boolean undoes(int move, int lastMove) {
+    if (lastMove == NO_MOVE || moveGenerator.movedCar(move) != (lastMove - 1) >> 1) {
+      return false;
+    }
+    return moveModel == MoveModel.SLIDE || moveCode(move) != lastMove;
+  }
+
+  // What a frontier search found: the depth and state it stopped at, the index of the state's
+  // ancestor in the relay, and the relay with its depth
+  private static final class Frontier {
+    int depth;
+    long state;
+    int pointer;
+    Layer relay;
+    int relayDepth;
+  }
+
+  // Open-addressing hash table of the states of one layer, each stored with the index of its
+  // ancestor in the relay and its last move value (a byte, since it only encodes a car and a
+  // direction)
+  private static final class Layer {
+    long[] states;
+    int[] pointers;
+    byte[] lastMoves;
+    int size;
+    // Hash slots holding (index + 1) of the state hashed there, or 0 if the slot is empty
+    int[] slots;
+
+    Layer(int expectedSize) {
+      int capacity = Math.max(16, expectedSize);
+      this.states = new long[capacity];
+      this.pointers = new int[capacity];
+      this.lastMoves = new byte[capacity];
+      this.slots = new int[Integer.highestOneBit(capacity) * 4];
+    }
+
+    // Add a state if it isn't already in the layer, returning whether it was added
+    boolean add(long state, int pointer, int lastMove) {
+      int mask = slots.length - 1;
+      int slot = StateTable.hash(state) & mask;
+      int entry;
+      while ((entry = slots[slot]) != 0) {
+        if (states[entry - 1] == state) {
+          return false;
+        }
+        slot = (slot + 1) & mask;
+      }
+      if (size == states.length) {
+        int capacity = states.length * 2;
+        states = Arrays.copyOf(states, capacity);
+        pointers = Arrays.copyOf(pointers, capacity);
+        lastMoves = Arrays.copyOf(lastMoves, capacity);
+      }
+      states[size] = state;
+      pointers[size] = pointer;
+      lastMoves[size] = (byte) lastMove;
+      slots[slot] = ++size;
+      // Keep at most half the slots in use
+      if (size * 2 > slots.length) {
+        rehash(slots.length * 2);
+      }
+      return true;
+    }
+
+    // Check whether a state is in the layer
+    boolean contains(long state) {
+      int mask = slots.length - 1;
+      int slot = StateTable.hash(state) & mask;
+      int entry;
+      while ((entry = slots[slot]) != 0) {
+        if (states[entry - 1] == state) {
+          return true;
+        }
+        slot = (slot + 1) & mask;
+      }
+      return false;
+    }
+
+    // Getter for the state at a given index
+    long state(int index) {
+      return states[index];
+    }
+
+    // Helper function to rebuild the hash slots at a new size
+    private void rehash(int slotCount) {
+      slots = new int[slotCount];
+      int mask = slotCount - 1;
+      for (int i = 0; i < size; i++) {
+        int slot = StateTable.hash(states[i]) & mask;
+        while (slots[slot] != 0) {
+          slot = (slot + 1) & mask;
+        }
+        slots[slot] = i + 1;
+      }
+    }
+  }
+}
\ No newline at end of file
@@ -0,0 +1,241 @@
+package com.rushhour;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Rush Hour Iterative Deepening A* Solver, a series of depth-first searches that prune every state
+ * whose distance plus blocking car heuristic exceeds a bound, raising the bound to the smallest
+ * pruned value after each failed search. Only the current path is kept, plus a fixed-size
+ * transposition table that remembers the shortest distance each recently seen state was reached
+ * at, so memory use stays proportional to the solution length rather than the state space. The
+ * certificate returned is a shortest one.
+ */
+public class IterativeDeepeningSolver implements Solver {
+  // Default number of entries in the transposition table
+  public static final int DEFAULT_TRANSPOSITION_TABLE_SIZE = 1 << 16;
+
+  // Value returned by a search that pruned nothing against the bound
+  private static final int NO_BOUND = Integer.MAX_VALUE;
+
+  Board initialState;
+  BoardLayout layout;
+  MoveModel moveModel;
+  MoveGenerator moveGenerator;
+  BlockingCarHeuristic heuristic;
+  // Direct-mapped transposition table from states to the shortest distance they were reached at
+  // during the current iteration
+  long[] transpositionStates;
+  int[] transpositionDistances;
+  int transpositionEntries;
+  // Current path (state, heuristic value, and the successors still to try at each depth)
+  long[] path;
+  int[] pathHeuristicValues;
+  long[][] successors;
+  int[][] movedCars;
+  int[] numberOfSuccessors;
+  int[] nextSuccessor;
+  int solutionLength;
+  SearchStatistics statistics = new SearchStatistics();
+
+  public IterativeDeepeningSolver(Board initialState) {
+    this(initialState, MoveModel.SINGLE_STEP);
+  }
+
+  public IterativeDeepeningSolver(Board initialState, MoveModel moveModel) {
+    this(initialState, moveModel, DEFAULT_TRANSPOSITION_TABLE_SIZE);
+  }
+
+  public IterativeDeepeningSolver(Board initialState, MoveModel moveModel, int transpositionTableSize) {
+    if (initialState == null) {
+      throw new IllegalArgumentException("Initial state cannot be null");
+    }
+    if (!initialState.validateCars()) {
+      throw new IllegalArgumentException("Initial state contains a positional conflict");
+    }
+    if (moveModel == null) {
+      throw new IllegalArgumentException("Move model cannot be null");
+    }
+    if (transpositionTableSize <= 0 || Integer.bitCount(transpositionTableSize) != 1) {
+      throw new IllegalArgumentException("Transposition table size must be a positive power of two");
+    }
+    this.initialState = initialState;
+    this.layout = new BoardLayout(initialState);
+    this.moveModel = moveModel;
+    this.moveGenerator = new MoveGenerator(layout, moveModel);
+    this.heuristic = new BlockingCarHeuristic(layout, moveModel);
+    this.transpositionStates = new long[transpositionTableSize];
+    this.transpositionDistances = new int[transpositionTableSize];
+    int initialDepth = 64;
+    this.path = new long[initialDepth];
+    this.pathHeuristicValues = new int[initialDepth];
+    this.successors = new long[initialDepth][];
+    this.movedCars = new int[initialDepth][];
+    this.numberOfSuccessors = new int[initialDepth];
+    this.nextSuccessor = new int[initialDepth];
+  }
+
+  @Override
+  public List<Board> solveProblem() {
+    // If a solution wasn't found, return an empty list
+    if (!deepen()) {
+      return new ArrayList<>();
+    }
+
+    // Solution was found, the certificate is the current path
+    long time = System.nanoTime();
+    ArrayList<Board> solution = new ArrayList<>(solutionLength);
+    for (int i = 0; i < solutionLength; i++) {
+      solution.add(layout.decode(path[i]));
+    }
+    statistics.phase(SearchStatistics.CERTIFICATE, time);
+    return solution;
+  }
+
+  @Override
+  public MoveSequence solveToMoves() {
+    if (!deepen()) {
+      return null;
+    }
+    long time = System.nanoTime();
+    MoveSequence moves = MoveSequence.fromStates(initialState, layout, Arrays.copyOf(path, solutionLength));
+    statistics.phase(SearchStatistics.CERTIFICATE, time);
+    return moves;
+  }
+
+  @Override
+  public SearchStatistics statistics() {
+    return statistics;
+  }
+
+  // The search finds a shortest certificate
+  @Override
+  public boolean isOptimal() {
+    return true;
+  }
+
+  // Helper function to deepen the bound until a solution is found or nothing was pruned (the puzzle
+  // is unsolvable), returning whether a solution was found (it is then the current path)
+  private boolean deepen() {
+    long time = System.nanoTime();
+    path[0] = layout.encode(initialState);
+    pathHeuristicValues[0] = heuristic.evaluate(path[0]);
+    solutionLength = 0;
+    if (layout.isSolved(path[0])) {
+      solutionLength = 1;
+    }
+    int bound = pathHeuristicValues[0];
+    while (solutionLength == 0 && bound != NO_BOUND) {
+      bound = search(bound);
+    }
+    statistics.phase(SearchStatistics.SEARCH, time);
+    return solutionLength != 0;
+  }
+
+  // Helper function performing one bounded depth-first search from the initial state, returning the
+  // smallest f value pruned against the bound (solutionLength is set if a win state is reached)
+  private int search(int bound) {
+    Arrays.fill(transpositionStates, BoardLayout.NO_STATE);
+    transpositionEntries = 0;
+    remember(path[0], 0);
+    int nextBound = NO_BOUND;
+    int depth = 0;
+    expand(0);
+    while (depth >= 0) {
+      if (nextSuccessor[depth] == numberOfSuccessors[depth]) {
+        // Every successor at this depth has been tried, back up
+        depth--;
+        continue;
+      }
+      int i = nextSuccessor[depth]++;
+      long state = successors[depth][i];
+      // Never undo the move that was just made
+      if (depth > 0 && state == path[depth - 1]) {
+        continue;
+      }
+      // Skip states already reached at the same or a shorter distance (their f value, if pruned,
+      // has already been counted towards the next bound)
+      int g = depth + 1;
+      if (!remember(state, g) || onPath(state, depth)) {
+        statistics.duplicate();
+        continue;
+      }
+      int h = heuristic.update(path[depth], pathHeuristicValues[depth], state, movedCars[depth][i]);
+      if (g + h > bound) {
+        nextBound = Math.min(nextBound, g + h);
+        continue;
+      }
+
+      // Extend the path with the new state
+      if (g == path.length) {
+        grow();
+      }
+      path[g] = state;
+      pathHeuristicValues[g] = h;
+      if (layout.isSolved(state)) {
+        solutionLength = g + 1;
+        statistics.visited(transpositionEntries);
+        return bound;
+      }
+      depth = g;
+      statistics.frontier(depth + 1);
+      expand(depth);
+    }
+    statistics.visited(transpositionEntries);
+    return nextBound;
+  }
+
+  // Helper function to record a state in the transposition table, returning false if it has
+  // already been reached at the same or a shorter distance during this iteration
+  private boolean remember(long state, int distance) {
+    int slot = StateTable.hash(state) & (transpositionStates.length - 1);
+    if (transpositionStates[slot] == state && transpositionDistances[slot] <= distance) {
+      return false;
+    }
+    if (transpositionStates[slot] == BoardLayout.NO_STATE) {
+      transpositionEntries++;
+    }
+    transpositionStates[slot] = state;
+    transpositionDistances[slot] = distance;
+    return true;
+  }
+
+  // Helper function to check whether a state is already on the path up to a given depth (the
+  // transposition table may have forgotten it, and revisiting it would let the path cycle)
+  private boolean onPath(long state, int depth) {
+    for (int i = depth; i >= 0; i--) {
+      if (path[i] == state) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  // Helper function to generate and store the successors of the state at a given depth of the path
+  private void expand(int depth) {
+    int count = moveGenerator.generate(path[depth]);
+    statistics.expanded(count);
+    if (successors[depth] == null || successors[depth].length < count) {
+      successors[depth] = new long[moveGenerator.successors.length];
+      movedCars[depth] = new int[moveGenerator.successors.length];
+    }
+    for (int i = 0; i < count; i++) {
+      successors[depth][i] = moveGenerator.successor(i);
+      movedCars[depth][i] = moveGenerator.movedCar(i);
+    }
+    numberOfSuccessors[depth] = count;
+    nextSuccessor[depth] = 0;
+  }
+
+  // Helper function to double the maximum depth of the path
+  private void grow() {
+    int newLength = path.length * 2;
+    path = Arrays.copyOf(path, newLength);
+    pathHeuristicValues = Arrays.copyOf(pathHeuristicValues, newLength);
+    successors = Arrays.copyOf(successors, newLength);
+    movedCars = Arrays.copyOf(movedCars, newLength);
+    numberOfSuccessors = Arrays.copyOf(numberOfSuccessors, newLength);
+    nextSuccessor = Arrays.copyOf(nextSuccessor, newLength);
+  }
+}
\ No newline at end of file
@@ -0,0 +1,120 @@
+package com.rushhour;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Rush Hour LRU Solution Cache, an in-memory solution cache for the puzzles seen most recently.
+ * Entries are keyed by canonical form and move model and hold the moves against the canonical car
+ * order, so copies of a puzzle share an entry. The cache is bounded by a number of entries and
+ * optionally a number of bytes (an estimate of the arrays held), evicting the least recently used
+ * entries whenever a bound is exceeded. Every operation holds the cache's lock, so it can be
+ * shared by any number of threads, and hits, misses and evictions are counted.
+ */
+public final class LruSolutionCache implements SolutionCache {
+  // Estimated bytes held by an entry besides its key and moves
+  static final int ENTRY_OVERHEAD = 96;
+
+  final int maximumEntries;
+  final long maximumBytes;
+  // Moves against the canonical car order of each cached puzzle, least recently used first
+  final LinkedHashMap<CacheKey, int[]> entries = new LinkedHashMap<>(16, 0.75f, true);
+  long bytes;
+  long hits;
+  long misses;
+  long evictions;
+
+  public LruSolutionCache(int maximumEntries) {
+    this(maximumEntries, Long.MAX_VALUE);
+  }
+
+  public LruSolutionCache(int maximumEntries, long maximumBytes) {
+    if (maximumEntries <= 0) {
+      throw new IllegalArgumentException("Maximum number of entries must be positive");
+    }
+    if (maximumBytes <= 0) {
+      throw new IllegalArgumentException("Maximum number of bytes must be positive");
+    }
+    this.maximumEntries = maximumEntries;
+    this.maximumBytes = maximumBytes;
+  }
+
+  @Override
+  public synchronized MoveSequence get(Board board, MoveModel moveModel) {
+    CanonicalForm form = new CanonicalForm(board);
+    int[] moves = entries.get(new CacheKey(form.key, moveModel));
+    if (moves == null) {
+      misses++;
+      return null;
+    }
+    hits++;
+    return form.toMoveSequence(board, moves);
+  }
+
+  @Override
+  public synchronized void put(Board board, MoveModel moveModel, MoveSequence moves) {
+    if (moves == null) {
+      throw new IllegalArgumentException("Moves cannot be null");
+    }
+    CanonicalForm form = new CanonicalForm(board);
+    // Only the key is kept, not the car order of this particular board
+    CacheKey key = new CacheKey(form.key, moveModel);
+    if (entries.containsKey(key)) {
+      return;
+    }
+    int[] canonicalMoves = form.toCanonicalMoves(moves);
+    entries.put(key, canonicalMoves);
+    bytes += size(form.key, canonicalMoves);
+
+    Iterator<Map.Entry<CacheKey, int[]>> eldest = entries.entrySet().iterator();
+    while (entries.size() > maximumEntries || bytes > maximumBytes) {
+      Map.Entry<CacheKey, int[]> e = eldest.next();
+      bytes -= size(e.getKey().key, e.getValue());
+      eldest.remove();
+      evictions++;
+    }
+  }
+
+  // Remove every entry, keeping the counters
+  public synchronized void clear() {
+    entries.clear();
+    bytes = 0;
+  }
+
+  // Number of puzzles in the cache
+  public synchronized int size() {
+    return entries.size();
+  }
+
+  // Estimated number of bytes held by the entries
+  public synchronized long bytes() {
+    return bytes;
+  }
+
+  // Number of lookups that found their puzzle
+  public synchronized long hits() {
+    return hits;
+  }
+
+  // Number of lookups that didn't find their puzzle
+  public synchronized long misses() {
+    return misses;
+  }
+
+  // Number of entries evicted to stay within the bounds
+  public synchronized long evictions() {
+    return evictions;
+  }
+
+  @Override
+  public synchronized String toString() {
+    return "entries: " + entries.size() + ", bytes: " + bytes + ", hits: " + hits
+      + ", misses: " + misses + ", evictions: " + evictions;
+  }
+
+  // Helper function to estimate the bytes held by an entry
+  private static long size(int[] key, int[] moves) {
+    return ENTRY_OVERHEAD + 4L * (key.length + moves.length);
+  }
+}
\ No newline at end of file
@@ -0,0 +1,117 @@
+package com.rushhour;
+
+/**
+ * Rush Hour Move Generator, which produces every legal successor of a packed state in a single
+ * pass. The generator paints the cars of the state onto an occupancy grid once, after which each
+ * candidate move only needs to test the one cell the moving car would newly cover. Depending on
+ * the move model, a car either shifts a single space or slides any number of free spaces in one
+ * move. Successors are written to internal buffers that are reused on every call, so a generator
+ * must not be shared between threads.
+ */
+public final class MoveGenerator {
+  final BoardLayout layout;
+  final MoveModel moveModel;
+  final int N;
+  // Occupancy grid, indexed by y * N + x (only ever holds the cars of the state being expanded)
+  final boolean[] occupied;
+  long[] successors;
+  int[] movedCars;
+  int[] displacements;
+
+  // Explicit value constructor for the single step move model
+  public MoveGenerator(BoardLayout layout) {
+    this(layout, MoveModel.SINGLE_STEP);
+  }
+
+  // Explicit value constructor
+  public MoveGenerator(BoardLayout layout, MoveModel moveModel) {
+    if (layout == null) {
+      throw new IllegalArgumentException("Layout cannot be null");
+    }
+    if (moveModel == null) {
+      throw new IllegalArgumentException("Move model cannot be null");
+    }
+    this.layout = layout;
+    this.moveModel = moveModel;
+    this.N = layout.N();
+    this.occupied = new boolean[N * N];
+    // A car can reach at most N - length other positions along its lane
+    int maximumMoves = 0;
+    for (int i = 0; i < layout.numberOfCars(); i++) {
+      maximumMoves += moveModel == MoveModel.SLIDE ? N - layout.length(i) : Math.min(2, N - layout.length(i));
+    }
+    this.successors = new long[maximumMoves];
+    this.movedCars = new int[maximumMoves];
+    this.displacements = new int[maximumMoves];
+  }
+
+  // Generate every legal successor of a state, returning the number of successors found (the
+  // successors are ordered by car, with the forward moves of each car before its backward moves and
+  // shorter slides before longer ones)
+  public int generate(long state) {
+    int numberOfCars = layout.numberOfCars();
+    int maximumDistance = moveModel == MoveModel.SLIDE ? N : 1;
+    paint(state, true);
+
+    int count = 0;
+    int front;
+    int back;
+    for (int i = 0; i < numberOfCars; i++) {
+      front = layout.position(state, i);
+      back = front - layout.length(i) + 1;
+      // Move the car forward until it leaves the board or runs into another car
+      for (int d = 1; d <= maximumDistance && front + d < N && !occupied[cell(i, front + d)]; d++) {
+        add(count++, layout.withPosition(state, i, front + d), i, d);
+      }
+      // Move the car backward until it leaves the board or runs into another car
+      for (int d = 1; d <= maximumDistance && back - d >= 0 && !occupied[cell(i, back - d)]; d++) {
+        add(count++, layout.withPosition(state, i, front - d), i, -d);
+      }
+    }
+
+    paint(state, false);
+    return count;
+  }
+
+  // Getter for the ith successor found by the last call to generate
+  public long successor(int i) {
+    return this.successors[i];
+  }
+
+  // Getter for the index of the car moved to reach the ith successor
+  public int movedCar(int i) {
+    return this.movedCars[i];
+  }
+
+  // Getter for the signed distance the car moved to reach the ith successor
+  public int displacement(int i) {
+    return this.displacements[i];
+  }
+
+  // Helper function to mark (or unmark) every cell covered by a car in a state
+  private void paint(long state, boolean value) {
+    int numberOfCars = layout.numberOfCars();
+    int front;
+    for (int i = 0; i < numberOfCars; i++) {
+      front = layout.position(state, i);
+      for (int p = front - layout.length(i) + 1; p <= front; p++) {
+        occupied[cell(i, p)] = value;
+      }
+    }
+  }
+
+  // Helper function to find the grid index of a position along a car's lane
+  private int cell(int carIndex, int position) {
+    if (layout.isHorizontal(carIndex)) {
+      return layout.lane(carIndex) * N + position;
+    }
+    return position * N + layout.lane(carIndex);
+  }
+
+  // Helper function to record a successor
+  private void add(int i, long successor, int carIndex, int displacement) {
+    successors[i] = successor;
+    movedCars[i] = carIndex;
+    displacements[i] = displacement;
+  }
+}
\ No newline at end of file
@@ -0,0 +1,12 @@
+package com.rushhour;
+
+/**
+ * Rush Hour Move Model, specifying what counts as a single move when searching for a solution.
+ * Under the single step model a move shifts one car by one space (so a solution's length is the
+ * total displacement of all cars), while under the slide model a move shifts one car any number of
+ * free spaces along its lane (the standard "one slide = one move" metric).
+ */
+public enum MoveModel {
+  SINGLE_STEP,
+  SLIDE
+}
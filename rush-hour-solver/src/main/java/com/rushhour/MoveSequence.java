@@ -0,0 +1,164 @@
+package com.rushhour;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Rush Hour Move Sequence, a compact certificate made of the initial board and the moves leading
+ * from it to a win state. Each move is packed into an int holding the index of the car moved
+ * above its signed displacement along its lane (positive towards higher coordinates), so a
+ * certificate costs a few bytes per step rather than a copy of every car per step. Boards are only
+ * rebuilt when asked for.
+ */
+public final class MoveSequence {
+  // Number of low bits holding the signed displacement of a move
+  private static final int DISPLACEMENT_BITS = 16;
+  private static final int DISPLACEMENT_MASK = (1 << DISPLACEMENT_BITS) - 1;
+
+  final Board initialState;
+  final int[] moves;
+  // Layout used to replay the moves, created the first time a board is asked for
+  BoardLayout layout;
+
+  // Explicit value constructor (moves are packed as by packMove)
+  MoveSequence(Board initialState, int[] moves) {
+    if (initialState == null) {
+      throw new IllegalArgumentException("Initial state cannot be null");
+    }
+    this.initialState = initialState;
+    this.moves = moves;
+  }
+
+  // Create the certificate of a path of packed states, each one move from the previous
+  public static MoveSequence fromStates(Board initialState, BoardLayout layout, long[] path) {
+    int[] moves = new int[path.length - 1];
+    for (int i = 1; i < path.length; i++) {
+      moves[i - 1] = moveBetween(layout, path[i - 1], path[i]);
+    }
+    MoveSequence sequence = new MoveSequence(initialState, moves);
+    sequence.layout = layout;
+    return sequence;
+  }
+
+  // Create the certificate of a list of boards as returned by Solver.solveProblem, or null if the
+  // list is empty
+  public static MoveSequence fromBoards(List<Board> boards) {
+    if (boards.isEmpty()) {
+      return null;
+    }
+    BoardLayout layout = new BoardLayout(boards.get(0));
+    long[] path = new long[boards.size()];
+    int i = 0;
+    for (Board b : boards) {
+      path[i++] = layout.encode(b);
+    }
+    return fromStates(boards.get(0), layout, path);
+  }
+
+  // Number of moves in the certificate
+  public int numberOfMoves() {
+    return moves.length;
+  }
+
+  // Index of the car moved by a given move
+  public int carIndex(int move) {
+    return carIndexOf(moves[move]);
+  }
+
+  // Signed displacement of the car moved by a given move
+  public int displacement(int move) {
+    return displacementOf(moves[move]);
+  }
+
+  public Board initialState() {
+    return initialState;
+  }
+
+  // Board after a given number of moves (0 is the initial state)
+  public Board board(int step) {
+    if (step < 0 || step > moves.length) {
+      throw new IndexOutOfBoundsException("Step out of range: " + step);
+    }
+    if (step == 0) {
+      return initialState;
+    }
+    BoardLayout l = layout();
+    long state = l.encode(initialState);
+    for (int i = 0; i < step; i++) {
+      state = apply(l, state, i);
+    }
+    return l.decode(state);
+  }
+
+  // Board the certificate ends on
+  public Board finalState() {
+    return board(moves.length);
+  }
+
+  // Every board of the certificate, from the initial state to the win state, in the form returned
+  // by Solver.solveProblem
+  public List<Board> toBoards() {
+    BoardLayout l = layout();
+    ArrayList<Board> boards = new ArrayList<>(moves.length + 1);
+    boards.add(initialState);
+    long state = l.encode(initialState);
+    for (int i = 0; i < moves.length; i++) {
+      state = apply(l, state, i);
+      boards.add(l.decode(state));
+    }
+    return boards;
+  }
+
+  // Pack a move into an int
+  static int packMove(int carIndex, int displacement) {
+    return carIndex << DISPLACEMENT_BITS | (displacement & DISPLACEMENT_MASK);
+  }
+
+  // Index of the car moved by a packed move
+  static int carIndexOf(int packedMove) {
+    return packedMove >> DISPLACEMENT_BITS;
+  }
+
+  // Signed displacement of a packed move
+  static int displacementOf(int packedMove) {
+    return (short) (packedMove & DISPLACEMENT_MASK);
+  }
+
+  // Helper function to find the single car that moved between two states and pack the move
+  private static int moveBetween(BoardLayout layout, long from, long to) {
+    int numberOfCars = layout.numberOfCars();
+    for (int i = 0; i < numberOfCars; i++) {
+      int displacement = layout.position(to, i) - layout.position(from, i);
+      if (displacement != 0) {
+        return packMove(i, displacement);
+      }
+    }
+    throw new IllegalArgumentException("Consecutive states of a certificate must differ by a move");
+  }
+
+  // Helper function to apply a move to a packed state
+  private long apply(BoardLayout l, long state, int move) {
+    int car = carIndex(move);
+    return l.withPosition(state, car, l.position(state, car) + displacement(move));
+  }
+
+  // Helper function to get the layout, creating it if needed
+  private BoardLayout layout() {
+    if (layout == null) {
+      layout = new BoardLayout(initialState);
+    }
+    return layout;
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder sb = new StringBuilder();
+    for (int i = 0; i < moves.length; i++) {
+      if (i > 0) {
+        sb.append(' ');
+      }
+      sb.append(carIndex(i)).append(displacement(i) > 0 ? "+" : "").append(displacement(i));
+    }
+    return sb.toString();
+  }
+}
\ No newline at end of file
@@ -2,14 +2,14 @@ package com.rushhour;
 
 import java.awt.BasicStroke;
 import java.awt.Color;
-import java.io.BufferedReader;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.InputStreamReader;
 import java.lang.reflect.Constructor;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.ObjIntConsumer;
 
 import org.jfree.chart.ChartFactory;
 import org.jfree.chart.ChartUtils;
@@ -20,36 +20,18 @@ import org.jfree.data.xy.XYSeries;
 import org.jfree.data.xy.XYSeriesCollection;
 
 public class PerformanceTest {
-  // Method to load puzzles from a file
-  public static List<Board> loadPuzzles(String filename) throws IOException {
-    List<Board> puzzles = new ArrayList<>();
-    List<Car> cars = new ArrayList<>();
+  // Longest a single timed solve may run
+  static final Duration TIME_LIMIT = Duration.ofSeconds(30);
 
+  // Method to load puzzles from a classpath resource
+  public static List<Board> loadPuzzles(String filename) throws IOException {
     InputStream inputStream = PerformanceTest.class.getClassLoader().getResourceAsStream(filename);
-    try (BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream))) {
-      String line;
-      while ((line = reader.readLine()) != null) {
-        line = line.trim();
-        // Add a new board when a blank line or comment is encountered
-        if (line.isEmpty() || line.startsWith("#")) {
-          if (!cars.isEmpty()) {
-            puzzles.add(new Board(cars));
-            cars.clear();
-          }
-          continue;
-        }
-        // Parse car details
-        String[] parts = line.split(",");
-        int xPosition = Integer.parseInt(parts[0]);
-        int yPosition = Integer.parseInt(parts[1]);
-        int length = Integer.parseInt(parts[2]);
-        boolean isHorizontal = Boolean.parseBoolean(parts[3]);
-        cars.add(new Car(xPosition, yPosition, length, isHorizontal));
-      }
-      // Add the last board if cars are left
-      if (!cars.isEmpty()) {
-        puzzles.add(new Board(cars));
-      }
+    if (inputStream == null) {
+      throw new IOException("Puzzle resource not found: " + filename);
+    }
+    List<Board> puzzles = new ArrayList<>();
+    try (PuzzleReader reader = new PuzzleReader(inputStream)) {
+      reader.forEachRemaining(puzzles::add);
     }
     return puzzles;
   }
@@ -62,8 +44,9 @@ public class PerformanceTest {
       Constructor<T> constructor = solverClass.getConstructor(Board.class);
       // Start the timer
       start = System.currentTimeMillis();
-      Solver s = constructor.newInstance(initialState);
-      s.solveProblem();
+      // A solve that runs out of time is charted at the time limit
+      Solver s = constructor.newInstance(initialState).withLimits(new SearchLimits(TIME_LIMIT));
+      s.solve();
       end = System.currentTimeMillis();
       return end - start;
     } catch (Exception e) {
@@ -71,18 +54,6 @@ public class PerformanceTest {
     }
   }
 
-  @SuppressWarnings("UseSpecificCatch")
-  static <T extends Solver> long solutionLength(Class<T> solverClass, Board initialState) {
-    try {
-      Constructor<T> constructor = solverClass.getConstructor(Board.class);
-      Solver s = constructor.newInstance(initialState);
-      List<Board> solution = s.solveProblem();
-      return solution.size();
-    } catch (Exception e) {
-      throw new RuntimeException("Failed to instantiate solver");
-    }
-  }
-
   static void chart(XYSeries[] series, String title, String yAxisLabel, String filename) throws Exception {
     XYSeriesCollection ds = new XYSeriesCollection();
     for (XYSeries s : series) {
@@ -155,11 +126,22 @@ public class PerformanceTest {
     s2.clear();
     s3.clear();
 
+    // Solution lengths don't depend on timing, so solve the puzzles concurrently, each in its own
+    // right so the lengths are exactly those each solver finds on that board
+    // (a puzzle a solver fails on would leave a hole in the chart, so it stops the run instead)
+    int threads = Runtime.getRuntime().availableProcessors();
+    ObjIntConsumer<RuntimeException> fail = (e, i) -> {
+      throw new RuntimeException("Failed to solve puzzle " + (i + 1), e);
+    };
+    int[] depthFirstLengths = new BatchSolver(DepthFirstSolver::new, threads, false).solutionLengths(puzzles, fail);
+    int[] breadthFirstLengths =
+      new BatchSolver(BreadthFirstSolver::new, threads, false).solutionLengths(puzzles, fail);
+    int[] bidirectionalLengths =
+      new BatchSolver(BidirectionalHeuristicSolver::new, threads, false).solutionLengths(puzzles, fail);
     for (int i = 0; i < numberOfPuzzles; i++) {
-      puzzle = puzzles.get(i);
-      s1.add(i + 1, solutionLength(DepthFirstSolver.class, puzzle));
-      s2.add(i + 1, solutionLength(BreadthFirstSolver.class, puzzle));
-      s3.add(i + 1, solutionLength(BidirectionalHeuristicSolver.class, puzzle));
+      s1.add(i + 1, depthFirstLengths[i]);
+      s2.add(i + 1, breadthFirstLengths[i]);
+      s3.add(i + 1, bidirectionalLengths[i]);
     }
     series[0] = s1;
     series[1] = s2;
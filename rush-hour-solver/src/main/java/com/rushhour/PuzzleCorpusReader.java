@@ -0,0 +1,154 @@
+package com.rushhour;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+/**
+ * Rush Hour Puzzle Corpus Reader, memory-maps a corpus written by PuzzleCorpusWriter and decodes
+ * boards straight from the mapped pages on demand, so opening even a very large corpus costs
+ * next to nothing and only the boards actually asked for are ever materialized. The file is
+ * mapped in segments of whole records since a single mapping is limited to 2GB. Reads never move
+ * a buffer position, so any number of threads can share a reader.
+ */
+public final class PuzzleCorpusReader implements Iterable<Board>, Closeable {
+  // Largest number of bytes mapped by a single segment
+  private static final long MAXIMUM_SEGMENT_SIZE = Integer.MAX_VALUE;
+
+  final FileChannel channel;
+  final int maximumNumberOfCars;
+  final int recordSize;
+  final long numberOfBoards;
+  final int boardsPerSegment;
+  final MappedByteBuffer[] segments;
+
+  public PuzzleCorpusReader(Path path) throws IOException {
+    this(path, MAXIMUM_SEGMENT_SIZE);
+  }
+
+  // Constructor mapping segments of at most a given number of bytes
+  PuzzleCorpusReader(Path path, long maximumSegmentSize) throws IOException {
+    this.channel = FileChannel.open(path, StandardOpenOption.READ);
+    try {
+      ByteBuffer header = ByteBuffer.allocate(PuzzleCorpusWriter.HEADER_SIZE);
+      while (header.hasRemaining() && channel.read(header) >= 0) {
+        continue;
+      }
+      if (header.hasRemaining() || header.getInt(0) != PuzzleCorpusWriter.MAGIC) {
+        throw new IOException("Not a puzzle corpus: " + path);
+      }
+      if (header.getShort(4) != PuzzleCorpusWriter.VERSION) {
+        throw new IOException("Unsupported puzzle corpus version " + header.getShort(4));
+      }
+      this.maximumNumberOfCars = header.getShort(6);
+      this.numberOfBoards = header.getLong(8);
+      if (maximumNumberOfCars <= 0 || maximumNumberOfCars > 0xFF || numberOfBoards < 0) {
+        throw new IOException("Puzzle corpus header is corrupt: " + path);
+      }
+      this.recordSize = PuzzleCorpusWriter.recordSize(maximumNumberOfCars);
+      if (PuzzleCorpusWriter.HEADER_SIZE + numberOfBoards * recordSize > channel.size()) {
+        throw new IOException("Puzzle corpus is truncated: " + path);
+      }
+
+      // Map the records in segments holding a whole number of records each
+      this.boardsPerSegment = (int) Math.max(1, maximumSegmentSize / recordSize);
+      int numberOfSegments = (int) ((numberOfBoards + boardsPerSegment - 1) / boardsPerSegment);
+      this.segments = new MappedByteBuffer[numberOfSegments];
+      for (int i = 0; i < numberOfSegments; i++) {
+        long first = (long) i * boardsPerSegment;
+        long boards = Math.min(boardsPerSegment, numberOfBoards - first);
+        segments[i] = channel.map(FileChannel.MapMode.READ_ONLY,
+                                  PuzzleCorpusWriter.HEADER_SIZE + first * recordSize, boards * recordSize);
+      }
+    } catch (IOException | RuntimeException e) {
+      channel.close();
+      throw e;
+    }
+  }
+
+  // Number of boards in the corpus
+  public long size() {
+    return numberOfBoards;
+  }
+
+  // Decode the board at a given index (throws UncheckedIOException if its record is corrupt)
+  public Board get(long index) {
+    if (index < 0 || index >= numberOfBoards) {
+      throw new IndexOutOfBoundsException("Board index out of range: " + index);
+    }
+    MappedByteBuffer segment = segments[(int) (index / boardsPerSegment)];
+    int offset = (int) (index % boardsPerSegment) * recordSize;
+    int numberOfCars = Byte.toUnsignedInt(segment.get(offset + 3));
+    if (numberOfCars > maximumNumberOfCars) {
+      throw corrupt(index);
+    }
+    ArrayList<Car> cars = new ArrayList<>(numberOfCars);
+    int carOffset = offset + PuzzleCorpusWriter.RECORD_HEADER_SIZE;
+    for (int i = 0; i < numberOfCars; i++) {
+      cars.add(PuzzleCorpusWriter.unpackCar(segment.getShort(carOffset)));
+      carOffset += PuzzleCorpusWriter.BYTES_PER_CAR;
+    }
+    // The cars are handed over as they are (a board written without cars is read back without
+    // any), but a record that doesn't describe a valid board is rejected rather than passed on
+    int N = Byte.toUnsignedInt(segment.get(offset));
+    if (N > PuzzleCorpusWriter.MAXIMUM_N) {
+      throw corrupt(index);
+    }
+    Board board;
+    try {
+      board = new Board(N, segment.get(offset + 1), segment.get(offset + 2));
+    } catch (IllegalArgumentException e) {
+      throw corrupt(index);
+    }
+    board.cars = cars;
+    if (numberOfCars > 0 && !board.validateCars()) {
+      throw corrupt(index);
+    }
+    return board;
+  }
+
+  @Override
+  public Iterator<Board> iterator() {
+    return new Iterator<>() {
+      long next = 0;
+
+      @Override
+      public boolean hasNext() {
+        return next < numberOfBoards;
+      }
+
+      @Override
+      public Board next() {
+        if (!hasNext()) {
+          throw new NoSuchElementException();
+        }
+        return get(next++);
+      }
+    };
+  }
+
+  // Stream of every board in the corpus, which can be split for parallel processing
+  public Stream<Board> stream() {
+    return LongStream.range(0, numberOfBoards).mapToObj(this::get);
+  }
+
+  // Helper function to make the exception thrown for a record that doesn't hold a valid board
+  private static UncheckedIOException corrupt(long index) {
+    return new UncheckedIOException(new IOException("Puzzle corpus record " + index + " is corrupt"));
+  }
+
+  @Override
+  public void close() throws IOException {
+    channel.close();
+  }
+}
\ No newline at end of file
@@ -0,0 +1,153 @@
+package com.rushhour;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Rush Hour Puzzle Corpus Writer, writes boards to the binary corpus format read by
+ * PuzzleCorpusReader. A corpus starts with a 16 byte header (the magic number, the format
+ * version, the maximum number of cars per board, and the number of boards), followed by one fixed
+ * width record per board holding N, the exit position, the number of cars, and every car packed
+ * into 2 bytes (4 bits each for the x-position, y-position, and length minus one, and 1 bit for
+ * the orientation), so boards up to 16x16 can be stored. Records are padded to the maximum number
+ * of cars so any board can be found by its index alone.
+ */
+public final class PuzzleCorpusWriter implements Closeable {
+  // "RHPC"
+  static final int MAGIC = 0x52485043;
+  static final short VERSION = 1;
+  static final int HEADER_SIZE = 16;
+  static final int RECORD_HEADER_SIZE = 4;
+  static final int BYTES_PER_CAR = 2;
+  // Largest board whose coordinates and car lengths fit in the packed car fields
+  static final int MAXIMUM_N = 16;
+  // Position of the number of boards in the header
+  private static final int COUNT_OFFSET = 8;
+
+  final FileChannel channel;
+  final int maximumNumberOfCars;
+  final int recordSize;
+  final ByteBuffer buffer;
+  long numberOfBoards;
+
+  public PuzzleCorpusWriter(Path path, int maximumNumberOfCars) throws IOException {
+    if (maximumNumberOfCars <= 0 || maximumNumberOfCars > 0xFF) {
+      throw new IllegalArgumentException("Maximum number of cars must be between 1 and 255");
+    }
+    this.maximumNumberOfCars = maximumNumberOfCars;
+    this.recordSize = recordSize(maximumNumberOfCars);
+    this.buffer = ByteBuffer.allocate(Math.max(recordSize, 1 << 16));
+    this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                                    StandardOpenOption.TRUNCATE_EXISTING);
+    // The number of boards is filled in on close
+    buffer.putInt(MAGIC).putShort(VERSION).putShort((short) maximumNumberOfCars).putLong(0L);
+  }
+
+  // Size in bytes of a record with room for a given number of cars
+  static int recordSize(int maximumNumberOfCars) {
+    return RECORD_HEADER_SIZE + BYTES_PER_CAR * maximumNumberOfCars;
+  }
+
+  // Append a board to the corpus
+  public void write(Board board) throws IOException {
+    if (board.N() > MAXIMUM_N) {
+      throw new IllegalArgumentException("Boards larger than " + MAXIMUM_N + "x" + MAXIMUM_N + " cannot be stored");
+    }
+    int numberOfCars = board.numberOfCars();
+    if (numberOfCars > maximumNumberOfCars) {
+      throw new IllegalArgumentException("Board has more than " + maximumNumberOfCars + " cars");
+    }
+    // Pack every car before writing anything, so a car that can't be stored leaves no partial record
+    short[] packedCars = new short[numberOfCars];
+    for (int i = 0; i < numberOfCars; i++) {
+      packedCars[i] = packCar(board.cars().get(i));
+    }
+    if (buffer.remaining() < recordSize) {
+      flush();
+    }
+    buffer.put((byte) board.N()).put((byte) board.exitXPosition()).put((byte) board.exitYPosition())
+          .put((byte) numberOfCars);
+    for (short packed : packedCars) {
+      buffer.putShort(packed);
+    }
+    // Pad the record to its fixed width
+    for (int i = numberOfCars; i < maximumNumberOfCars; i++) {
+      buffer.putShort((short) 0);
+    }
+    numberOfBoards++;
+  }
+
+  // Number of boards written so far
+  public long numberOfBoards() {
+    return numberOfBoards;
+  }
+
+  @Override
+  public void close() throws IOException {
+    try {
+      flush();
+      ByteBuffer count = ByteBuffer.allocate(Long.BYTES).putLong(0, numberOfBoards);
+      channel.write(count, COUNT_OFFSET);
+    } finally {
+      channel.close();
+    }
+  }
+
+  // Convert a corpus in the puzzles.txt text format to the binary format, returning the number of
+  // boards converted (the text is read twice, first to size the records)
+  public static long convert(Path textFile, Path corpusFile) throws IOException {
+    int maximumNumberOfCars = 1;
+    try (PuzzleReader reader = new PuzzleReader(textFile)) {
+      while (reader.hasNext()) {
+        maximumNumberOfCars = Math.max(maximumNumberOfCars, reader.next().numberOfCars());
+      }
+    }
+    try (PuzzleReader reader = new PuzzleReader(textFile);
+         PuzzleCorpusWriter writer = new PuzzleCorpusWriter(corpusFile, maximumNumberOfCars)) {
+      while (reader.hasNext()) {
+        writer.write(reader.next());
+      }
+      return writer.numberOfBoards();
+    }
+  }
+
+  // Helper function to pack a car into 2 bytes, refusing cars whose fields don't fit (which would
+  // otherwise spill into the neighbouring fields)
+  static short packCar(Car c) {
+    if (c.xPosition() < 0 || c.xPosition() >= MAXIMUM_N || c.yPosition() < 0 || c.yPosition() >= MAXIMUM_N) {
+      throw new IllegalArgumentException("Car positions must be between 0 and " + (MAXIMUM_N - 1));
+    }
+    if (c.length() < 1 || c.length() > MAXIMUM_N) {
+      throw new IllegalArgumentException("Car lengths must be between 1 and " + MAXIMUM_N);
+    }
+    return (short) (c.xPosition() | c.yPosition() << 4 | (c.length() - 1) << 8 | (c.isHorizontal() ? 1 << 12 : 0));
+  }
+
+  // Helper function to unpack a car packed by packCar
+  static Car unpackCar(short packed) {
+    return new Car(packed & 0xF, (packed >> 4) & 0xF, ((packed >> 8) & 0xF) + 1, (packed & 1 << 12) != 0);
+  }
+
+  // Helper function to write out the buffered records
+  private void flush() throws IOException {
+    buffer.flip();
+    while (buffer.hasRemaining()) {
+      channel.write(buffer);
+    }
+    buffer.clear();
+  }
+
+  // Command line converter: PuzzleCorpusWriter <puzzles.txt> <corpus file>
+  public static void main(String[] args) throws IOException {
+    if (args.length != 2) {
+      System.out.println("Usage: PuzzleCorpusWriter <text file> <corpus file>");
+      return;
+    }
+    long converted = convert(Path.of(args[0]), Path.of(args[1]));
+    System.out.println("Converted " + converted + " puzzles");
+  }
+}
\ No newline at end of file
@@ -0,0 +1,213 @@
+package com.rushhour;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Rush Hour Puzzle Reader, reads boards one at a time from text in the puzzles.txt format (each
+ * car's x-position, y-position, length, and whether it's horizontal separated by commas, one car
+ * per line, with a blank line or a comment starting with # ending each board). Boards are parsed
+ * straight from a character buffer as they are asked for, so corpora far larger than the heap can
+ * be streamed from a file or standard input.
+ */
+public final class PuzzleReader implements Iterator<Board>, Closeable {
+  // Number of characters read from the underlying reader at a time
+  private static final int BUFFER_SIZE = 1 << 16;
+  private static final int END_OF_INPUT = -1;
+
+  final Reader reader;
+  final char[] buffer = new char[BUFFER_SIZE];
+  int position;
+  int limit;
+  int lineNumber = 1;
+  // Cars of the board being parsed
+  final ArrayList<Car> cars = new ArrayList<>();
+  // Board parsed ahead by hasNext, or null if there isn't one
+  Board next;
+
+  public PuzzleReader(Reader reader) {
+    if (reader == null) {
+      throw new IllegalArgumentException("Reader cannot be null");
+    }
+    this.reader = reader;
+  }
+
+  public PuzzleReader(InputStream inputStream) {
+    this(inputStream == null ? null : new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+  }
+
+  public PuzzleReader(Path path) throws IOException {
+    this(Files.newInputStream(path));
+  }
+
+  @Override
+  public boolean hasNext() {
+    if (next == null) {
+      try {
+        next = readBoard();
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+    return next != null;
+  }
+
+  @Override
+  public Board next() {
+    if (!hasNext()) {
+      throw new NoSuchElementException();
+    }
+    Board board = next;
+    next = null;
+    return board;
+  }
+
+  // Sequential stream of the remaining boards, closing the reader when the stream is closed
+  public Stream<Board> stream() {
+    Spliterator<Board> spliterator = Spliterators.spliteratorUnknownSize(this, Spliterator.ORDERED | Spliterator.NONNULL);
+    return StreamSupport.stream(spliterator, false).onClose(() -> {
+      try {
+        close();
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    });
+  }
+
+  @Override
+  public void close() throws IOException {
+    reader.close();
+  }
+
+  // Helper function to parse the next board, or return null at the end of the input
+  private Board readBoard() throws IOException {
+    cars.clear();
+    int c;
+    while ((c = skipBlanks()) != END_OF_INPUT) {
+      if (c == '\n' || c == '\r' || c == '#') {
+        // A blank line or a comment ends the current board, if there is one
+        skipLine();
+        if (!cars.isEmpty()) {
+          return new Board(cars);
+        }
+        continue;
+      }
+      int xPosition = readInt();
+      expectComma();
+      int yPosition = readInt();
+      expectComma();
+      int length = readInt();
+      expectComma();
+      boolean isHorizontal = readBoolean();
+      // Anything after the fourth field is ignored
+      skipLine();
+      cars.add(new Car(xPosition, yPosition, length, isHorizontal));
+    }
+    return cars.isEmpty() ? null : new Board(cars);
+  }
+
+  // Helper function to parse an optionally signed decimal integer
+  private int readInt() throws IOException {
+    int c = skipBlanks();
+    boolean negative = c == '-';
+    if (c == '-' || c == '+') {
+      position++;
+      c = peek();
+    }
+    if (c < '0' || c > '9') {
+      throw malformed("Expected a number");
+    }
+    long value = 0;
+    while (c >= '0' && c <= '9') {
+      value = value * 10 + (c - '0');
+      if (value > Integer.MAX_VALUE) {
+        throw malformed("Number out of range");
+      }
+      position++;
+      c = peek();
+    }
+    return (int) (negative ? -value : value);
+  }
+
+  // Helper function to parse a boolean field, which like Boolean.parseBoolean is true only if it
+  // reads "true" ignoring case
+  private boolean readBoolean() throws IOException {
+    final String expected = "true";
+    int c = skipBlanks();
+    int matched = 0;
+    boolean matches = true;
+    while (c != END_OF_INPUT && c != ',' && c != '\n' && c != '\r' && c != ' ' && c != '\t') {
+      if (matched >= expected.length() || Character.toLowerCase((char) c) != expected.charAt(matched)) {
+        matches = false;
+      }
+      matched++;
+      position++;
+      c = peek();
+    }
+    return matches && matched == expected.length();
+  }
+
+  // Helper function to consume the comma between two fields
+  private void expectComma() throws IOException {
+    if (skipBlanks() != ',') {
+      throw malformed("Expected a comma");
+    }
+    position++;
+  }
+
+  // Helper function to skip spaces and tabs, returning the next character without consuming it
+  private int skipBlanks() throws IOException {
+    int c = peek();
+    while (c == ' ' || c == '\t') {
+      position++;
+      c = peek();
+    }
+    return c;
+  }
+
+  // Helper function to consume everything up to and including the end of the current line
+  private void skipLine() throws IOException {
+    int c = peek();
+    while (c != END_OF_INPUT && c != '\n') {
+      position++;
+      c = peek();
+    }
+    if (c == '\n') {
+      position++;
+      lineNumber++;
+    }
+  }
+
+  // Helper function to look at the next character without consuming it, refilling the buffer when
+  // it runs out
+  private int peek() throws IOException {
+    if (position == limit) {
+      limit = reader.read(buffer, 0, buffer.length);
+      position = 0;
+      if (limit <= 0) {
+        limit = 0;
+        return END_OF_INPUT;
+      }
+    }
+    return buffer[position];
+  }
+
+  // Helper function to build the exception thrown for a malformed car
+  private IllegalArgumentException malformed(String message) {
+    return new IllegalArgumentException(message + " on line " + lineNumber);
+  }
+}
\ No newline at end of file
@@ -0,0 +1,28 @@
+package com.rushhour;
+
+/**
+ * Rush Hour Search Limit Exceeded Exception, thrown by a solver that stopped before deciding the
+ * puzzle because it ran out of time or states to expand, or was cancelled. It carries the reason and
+ * the statistics of the search up to that point.
+ */
+public class SearchLimitExceededException extends RuntimeException {
+  private static final long serialVersionUID = 1L;
+
+  final SearchResult.Outcome outcome;
+  final transient SearchStatistics statistics;
+
+  public SearchLimitExceededException(SearchResult.Outcome outcome, SearchStatistics statistics) {
+    super("Search stopped: " + outcome);
+    this.outcome = outcome;
+    this.statistics = statistics;
+  }
+
+  // Which limit stopped the search
+  public SearchResult.Outcome outcome() {
+    return outcome;
+  }
+
+  public SearchStatistics statistics() {
+    return statistics;
+  }
+}
\ No newline at end of file
@@ -0,0 +1,108 @@
+package com.rushhour;
+
+import java.time.Duration;
+
+/**
+ * Rush Hour Search Limits, the bounds a solver searches within: a deadline (a time limit counted
+ * from when the limits are created, so limits shared by several searches give them one deadline
+ * between them), a budget of expanded states for each solver, and a cancellation token. A solver
+ * checks its limits every time it expands a state (the clock only every few hundred states) and
+ * stops by throwing SearchLimitExceededException.
+ */
+public final class SearchLimits {
+  // Limits that never stop a search
+  public static final SearchLimits NONE = new SearchLimits(null, Long.MAX_VALUE, null);
+  // The clock is read whenever the number of expanded states is a multiple of this plus one
+  private static final long CLOCK_INTERVAL_MASK = 0xFF;
+
+  // System.nanoTime() reading the search must stop by (only meaningful if hasDeadline)
+  final long deadline;
+  final boolean hasDeadline;
+  final long maximumExpandedNodes;
+  final CancellationToken token;
+
+  public SearchLimits(Duration timeLimit) {
+    this(timeLimit, Long.MAX_VALUE, null);
+  }
+
+  public SearchLimits(long maximumExpandedNodes) {
+    this(null, maximumExpandedNodes, null);
+  }
+
+  public SearchLimits(CancellationToken token) {
+    this(null, Long.MAX_VALUE, token);
+  }
+
+  // Explicit value constructor (a null time limit or token leaves that limit out)
+  public SearchLimits(Duration timeLimit, long maximumExpandedNodes, CancellationToken token) {
+    this(timeLimit, maximumExpandedNodes, token, System.nanoTime());
+  }
+
+  // Constructor counting the time limit from a given System.nanoTime() reading
+  private SearchLimits(Duration timeLimit, long maximumExpandedNodes, CancellationToken token, long now) {
+    if (timeLimit != null && timeLimit.isNegative()) {
+      throw new IllegalArgumentException("Time limit cannot be negative");
+    }
+    if (maximumExpandedNodes < 0) {
+      throw new IllegalArgumentException("Maximum number of expanded nodes cannot be negative");
+    }
+    this.hasDeadline = timeLimit != null;
+    this.deadline = hasDeadline ? now + saturatedNanos(timeLimit) : 0;
+    this.maximumExpandedNodes = maximumExpandedNodes;
+    this.token = token;
+  }
+
+  // Getters
+  public long maximumExpandedNodes() {
+    return maximumExpandedNodes;
+  }
+
+  public CancellationToken token() {
+    return token;
+  }
+
+  // Time left before the deadline (null if there is no deadline)
+  public Duration remaining() {
+    return hasDeadline ? Duration.ofNanos(Math.max(0, deadline - System.nanoTime())) : null;
+  }
+
+  // Copy of these limits with the same deadline and budget but a different token
+  SearchLimits withToken(CancellationToken newToken) {
+    return hasDeadline ? new SearchLimits(Duration.ZERO, maximumExpandedNodes, newToken, deadline)
+      : new SearchLimits(null, maximumExpandedNodes, newToken, 0);
+  }
+
+  // Throw if a search with the given statistics has gone past any limit, reading the clock every
+  // so often unless asked to always read it
+  void check(SearchStatistics statistics, boolean readClock) {
+    SearchResult.Outcome outcome =
+      exceeded(statistics.nodesExpanded, readClock || (statistics.nodesExpanded & CLOCK_INTERVAL_MASK) == 1);
+    if (outcome != null) {
+      throw new SearchLimitExceededException(outcome, statistics);
+    }
+  }
+
+  // Find which limit a search that has expanded a number of states has gone past (null if none),
+  // only reading the clock if asked to. Safe to call from any thread.
+  SearchResult.Outcome exceeded(long nodesExpanded, boolean readClock) {
+    if (token != null && token.isCancelled()) {
+      return SearchResult.Outcome.CANCELLED;
+    }
+    if (nodesExpanded > maximumExpandedNodes) {
+      return SearchResult.Outcome.NODE_LIMIT_REACHED;
+    }
+    if (hasDeadline && readClock && System.nanoTime() - deadline > 0) {
+      return SearchResult.Outcome.TIMED_OUT;
+    }
+    return null;
+  }
+
+  // Helper function to convert a duration to nanoseconds, capping it rather than overflowing
+  private static long saturatedNanos(Duration duration) {
+    try {
+      return Math.min(duration.toNanos(), Long.MAX_VALUE / 2);
+    } catch (ArithmeticException e) {
+      return Long.MAX_VALUE / 2;
+    }
+  }
+}
\ No newline at end of file
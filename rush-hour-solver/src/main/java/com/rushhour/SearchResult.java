@@ -0,0 +1,68 @@
+package com.rushhour;
+
+/**
+ * Rush Hour Search Result, how a search ended along with its certificate (if the puzzle was solved)
+ * and its statistics. Unlike the empty list returned by Solver.solveProblem, a search stopped by
+ * its limits is told apart from a puzzle that can't be solved. A search stopped by its limits may
+ * still carry the best certificate it found, which unlike that of a solved search isn't known to
+ * be optimal.
+ */
+public final class SearchResult {
+  // Ways a search can end
+  public enum Outcome {
+    SOLVED,
+    UNSOLVABLE,
+    TIMED_OUT,
+    NODE_LIMIT_REACHED,
+    CANCELLED
+  }
+
+  final Outcome outcome;
+  final MoveSequence moves;
+  final SearchStatistics statistics;
+
+  // Explicit value constructor
+  public SearchResult(Outcome outcome, MoveSequence moves, SearchStatistics statistics) {
+    if (outcome == null) {
+      throw new IllegalArgumentException("Outcome cannot be null");
+    }
+    if (outcome == Outcome.SOLVED && moves == null) {
+      throw new IllegalArgumentException("A solved search must have moves");
+    }
+    if (outcome == Outcome.UNSOLVABLE && moves != null) {
+      throw new IllegalArgumentException("An unsolvable search cannot have moves");
+    }
+    this.outcome = outcome;
+    this.moves = moves;
+    this.statistics = statistics;
+  }
+
+  // Getters
+  public Outcome outcome() {
+    return outcome;
+  }
+
+  // Certificate of a solved search, or the best one found by a search stopped at its limits (null
+  // if there is none)
+  public MoveSequence moves() {
+    return moves;
+  }
+
+  public SearchStatistics statistics() {
+    return statistics;
+  }
+
+  public boolean isSolved() {
+    return outcome == Outcome.SOLVED;
+  }
+
+  // Whether the search stopped before deciding the puzzle
+  public boolean isLimitExceeded() {
+    return outcome != Outcome.SOLVED && outcome != Outcome.UNSOLVABLE;
+  }
+
+  @Override
+  public String toString() {
+    return outcome + (moves == null ? "" : " " + moves) + (statistics == null ? "" : " (" + statistics + ")");
+  }
+}
\ No newline at end of file
@@ -0,0 +1,122 @@
+package com.rushhour;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Rush Hour Search Statistics, counters a solver fills in while it searches: how many states were
+ * generated and expanded, how many generated states had already been seen, the peak sizes of the
+ * frontier and of the set of visited states, and the time spent in each phase of the search.
+ * What counts as the frontier depends on the solver (the queue for best-first and breadth-first
+ * searches, the current path for depth-first ones).
+ */
+public final class SearchStatistics {
+  // Names of the phases timed by the solvers
+  public static final String WIN_STATES = "win states";
+  public static final String SEARCH = "search";
+  public static final String CERTIFICATE = "certificate";
+  public static final String CACHE = "cache";
+
+  long nodesGenerated;
+  long nodesExpanded;
+  long duplicates;
+  int peakFrontierSize;
+  int peakVisitedSize;
+  // Nanoseconds spent in each phase, in the order the phases were first timed
+  final LinkedHashMap<String, Long> phaseTimes = new LinkedHashMap<>();
+  // Limits checked whenever a state is expanded
+  SearchLimits limits = SearchLimits.NONE;
+
+  // Record that a state was expanded, generating a number of successors (throws
+  // SearchLimitExceededException if that takes the search past its limits). Public so that solvers
+  // outside this package can count their expansions, which is how their limits are enforced.
+  public void expanded(int generated) {
+    nodesExpanded++;
+    nodesGenerated += generated;
+    if (limits != SearchLimits.NONE) {
+      limits.check(this, false);
+    }
+  }
+
+  // Record that a batch of states was expanded, generating a number of successors between them,
+  // for searches that expand states on several threads (throws SearchLimitExceededException if
+  // that takes the search past its limits)
+  void expanded(long states, long generated) {
+    nodesExpanded += states;
+    nodesGenerated += generated;
+    limits.check(this, true);
+  }
+
+  // Record that a generated state had already been seen
+  void duplicate() {
+    duplicates++;
+  }
+
+  // Record the current size of the frontier
+  void frontier(int size) {
+    if (size > peakFrontierSize) {
+      peakFrontierSize = size;
+    }
+  }
+
+  // Record the current number of visited states
+  void visited(int size) {
+    if (size > peakVisitedSize) {
+      peakVisitedSize = size;
+    }
+  }
+
+  // Add the time since a given System.nanoTime() reading to a phase, returning the current reading
+  // so consecutive phases can be timed back to back
+  long phase(String name, long startNanos) {
+    long now = System.nanoTime();
+    phaseTimes.merge(name, now - startNanos, Long::sum);
+    return now;
+  }
+
+  // Getters
+  public long nodesGenerated() {
+    return nodesGenerated;
+  }
+
+  public long nodesExpanded() {
+    return nodesExpanded;
+  }
+
+  public long duplicates() {
+    return duplicates;
+  }
+
+  public int peakFrontierSize() {
+    return peakFrontierSize;
+  }
+
+  public int peakVisitedSize() {
+    return peakVisitedSize;
+  }
+
+  // Nanoseconds spent in each timed phase
+  public Map<String, Long> phaseTimes() {
+    return Collections.unmodifiableMap(phaseTimes);
+  }
+
+  // Nanoseconds spent in a phase, or 0 if it wasn't timed
+  public long phaseTime(String name) {
+    return phaseTimes.getOrDefault(name, 0L);
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder sb = new StringBuilder();
+    sb.append("generated=").append(nodesGenerated)
+      .append(" expanded=").append(nodesExpanded)
+      .append(" duplicates=").append(duplicates)
+      .append(" peakFrontier=").append(peakFrontierSize)
+      .append(" peakVisited=").append(peakVisitedSize);
+    for (Map.Entry<String, Long> e : phaseTimes.entrySet()) {
+      sb.append(' ').append(e.getKey().replace(' ', '-')).append('=').append(e.getValue() / 1000).append("us");
+    }
+    return sb.toString();
+  }
+}
\ No newline at end of file
@@ -0,0 +1,40 @@
+package com.rushhour;
+
+public interface SolutionCache {
+    /**
+     * Look up the certificate of a board under a move model, which is found whatever order the board
+     * lists its cars in
+     * @param board The initial state of a rush hour puzzle
+     * @param moveModel The move model the certificate must have been found under
+     * @return The cached moves from the board to a win state, or null if the board isn't cached
+     */
+    MoveSequence get(Board board, MoveModel moveModel);
+
+    /**
+     * Record the certificate of a board under a move model, replacing nothing if the board is already
+     * cached under that model. Only optimal certificates should be recorded, since the cache hands
+     * them out as the answer for every copy of the board.
+     * @param board The initial state of a rush hour puzzle
+     * @param moveModel The move model the certificate was found under
+     * @param moves The moves from the board to a win state, as returned by Solver.solveToMoves
+     */
+    void put(Board board, MoveModel moveModel, MoveSequence moves);
+
+    /**
+     * Look up the certificate of a board under the single step move model
+     * @param board The initial state of a rush hour puzzle
+     * @return The cached moves from the board to a win state, or null if the board isn't cached
+     */
+    default MoveSequence get(Board board) {
+        return get(board, MoveModel.SINGLE_STEP);
+    }
+
+    /**
+     * Record the optimal certificate of a board under the single step move model
+     * @param board The initial state of a rush hour puzzle
+     * @param moves The moves from the board to a win state, as returned by Solver.solveToMoves
+     */
+    default void put(Board board, MoveSequence moves) {
+        put(board, MoveModel.SINGLE_STEP, moves);
+    }
+}
\ No newline at end of file
@@ -6,9 +6,73 @@ public interface Solver {
     /**
      * Given a board representing the initial state of a rush hour puzzle, solve the puzzle,
      * returning a list of board states from the initial state to the end state as a certificate
+     * (consecutive states differ by exactly one move under the solver's move model)
      * @param initialState The starting state of the rush hour puzzle
      * @return A valid solution to the rush hour puzzle, as a list of Board objects from the
      * initial state to a win state, or an empty list if the puzzle isn't solvable
+     * @throws SearchLimitExceededException If the solver was given limits with withLimits and the
+     * search passed its deadline or node budget or was cancelled before it finished
      */
     List<Board> solveProblem();
+
+    /**
+     * Statistics gathered by the solver while it searched, filled in by solveProblem
+     * @return Counters and phase timings of the search so far
+     */
+    SearchStatistics statistics();
+
+    /**
+     * Report whether the certificates this solver returns are known to be shortest ones under its
+     * move model (solvers that can't guarantee it, such as a depth-first search, say no)
+     * @return True if the certificate of the last solve is optimal
+     */
+    default boolean isOptimal() {
+        return false;
+    }
+
+    /**
+     * Solve the puzzle like solveProblem, but return the certificate as the initial state and a
+     * compact sequence of moves, with boards only rebuilt on demand
+     * @return The moves from the initial state to a win state, or null if the puzzle isn't solvable
+     * @throws SearchLimitExceededException If the solver was given limits with withLimits and the
+     * search passed its deadline or node budget or was cancelled before it finished
+     */
+    default MoveSequence solveToMoves() {
+        return MoveSequence.fromBoards(solveProblem());
+    }
+
+    /**
+     * Limit every later search of this solver, which then stops by throwing
+     * SearchLimitExceededException once it passes its deadline or node budget or is cancelled.
+     * The limits are checked whenever the solver records an expanded state through
+     * statistics().expanded, so a solver that never records its expansions is never stopped
+     * (and must override this to enforce limits its own way). The node budget counts every state
+     * the solver has expanded since it was created, so it is shared by all the solveProblem,
+     * solveToMoves and solve calls made on the same instance.
+     * @param limits The limits to search within
+     * @return This solver
+     */
+    default Solver withLimits(SearchLimits limits) {
+        if (limits == null) {
+            throw new IllegalArgumentException("Limits cannot be null");
+        }
+        statistics().limits = limits;
+        return this;
+    }
+
+    /**
+     * Solve the puzzle like solveToMoves, but report how the search ended rather than throwing when
+     * it stops at its limits
+     * @return The outcome of the search, with the certificate if it was solved and the statistics
+     * gathered either way
+     */
+    default SearchResult solve() {
+        try {
+            MoveSequence moves = solveToMoves();
+            return new SearchResult(moves == null ? SearchResult.Outcome.UNSOLVABLE : SearchResult.Outcome.SOLVED,
+                                    moves, statistics());
+        } catch (SearchLimitExceededException e) {
+            return new SearchResult(e.outcome(), null, e.statistics());
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,170 @@
+package com.rushhour;
+
+import java.util.Arrays;
+
+/**
+ * Rush Hour State Table, an insertion-ordered open-addressing hash table of packed states. Each
+ * state added to the table is given an index (0, 1, 2, ...) and stored alongside the index of its
+ * parent state and its distance from the root of the search, all in primitive arrays. Because the
+ * index of a state never changes, parents are stored as indices rather than as states, and a
+ * breadth-first search can use the table itself as its queue.
+ */
+public final class StateTable {
+  // Parent index of a root state
+  public static final int NO_PARENT = -1;
+
+  // Index returned by lookups that find nothing
+  public static final int NOT_FOUND = -1;
+
+  // Maximum fraction of hash slots in use before the slot array is doubled
+  private static final double MAXIMUM_LOAD_FACTOR = 0.5;
+
+  long[] states;
+  int[] parents;
+  int[] distances;
+  int size;
+  // Hash slots holding (index + 1) of the state hashed there, or 0 if the slot is empty
+  int[] slots;
+
+  // Default constructor
+  public StateTable() {
+    this(1024);
+  }
+
+  // Explicit value constructor, taking the number of states expected to be added
+  public StateTable(int expectedSize) {
+    if (expectedSize < 0) {
+      throw new IllegalArgumentException("Expected size cannot be negative");
+    }
+    int capacity = Math.max(16, expectedSize);
+    this.states = new long[capacity];
+    this.parents = new int[capacity];
+    this.distances = new int[capacity];
+    this.size = 0;
+    this.slots = new int[slotCountFor(capacity)];
+  }
+
+  // Add a state if it isn't already in the table, returning its new index, or NOT_FOUND if the
+  // state was already present (in which case the table is left unchanged)
+  public int add(long state, int parent, int distance) {
+    int mask = slots.length - 1;
+    int slot = hash(state) & mask;
+    int entry;
+    while ((entry = slots[slot]) != 0) {
+      if (states[entry - 1] == state) {
+        return NOT_FOUND;
+      }
+      slot = (slot + 1) & mask;
+    }
+
+    // State not found, append it and claim the empty slot
+    if (size == states.length) {
+      int capacity = states.length * 2;
+      states = Arrays.copyOf(states, capacity);
+      parents = Arrays.copyOf(parents, capacity);
+      distances = Arrays.copyOf(distances, capacity);
+    }
+    int index = size++;
+    states[index] = state;
+    parents[index] = parent;
+    distances[index] = distance;
+    slots[slot] = index + 1;
+    if (size > slots.length * MAXIMUM_LOAD_FACTOR) {
+      rehash(slots.length * 2);
+    }
+    return index;
+  }
+
+  // Find the index of a state, returning NOT_FOUND if the state isn't in the table
+  public int indexOf(long state) {
+    int mask = slots.length - 1;
+    int slot = hash(state) & mask;
+    int entry;
+    while ((entry = slots[slot]) != 0) {
+      if (states[entry - 1] == state) {
+        return entry - 1;
+      }
+      slot = (slot + 1) & mask;
+    }
+    return NOT_FOUND;
+  }
+
+  // Function to check whether a state is in the table
+  public boolean contains(long state) {
+    return indexOf(state) != NOT_FOUND;
+  }
+
+  // Return the states on the path from the root to the state at a given index, in that order
+  public long[] path(int index) {
+    int length = 0;
+    for (int i = index; i != NO_PARENT; i = parents[i]) {
+      length++;
+    }
+    long[] path = new long[length];
+    for (int i = index; i != NO_PARENT; i = parents[i]) {
+      path[--length] = states[i];
+    }
+    return path;
+  }
+
+  // Getter for the state at a given index
+  public long state(int index) {
+    return this.states[index];
+  }
+
+  // Getter for the parent index of the state at a given index
+  public int parent(int index) {
+    return this.parents[index];
+  }
+
+  // Getter for the distance of the state at a given index
+  public int distance(int index) {
+    return this.distances[index];
+  }
+
+  // Manually change the parent index of the state at a given index
+  public void changeParent(int index, int newParent) {
+    this.parents[index] = newParent;
+  }
+
+  // Manually change the distance of the state at a given index
+  public void changeDistance(int index, int newDistance) {
+    this.distances[index] = newDistance;
+  }
+
+  // Getter for the number of states in the table
+  public int size() {
+    return this.size;
+  }
+
+  // Helper function to spread the bits of a packed state across the hash slots
+  static int hash(long state) {
+    state ^= state >>> 33;
+    state *= 0xff51afd7ed558ccdL;
+    state ^= state >>> 33;
+    return (int) state;
+  }
+
+  // Helper function to find a power of two number of slots that keeps the load factor in bounds
+  private static int slotCountFor(int capacity) {
+    int slotCount = 16;
+    while (capacity > slotCount * MAXIMUM_LOAD_FACTOR) {
+      slotCount *= 2;
+    }
+    return slotCount;
+  }
+
+  // Helper function to rebuild the hash slots at a new size (indices of states don't change)
+  private void rehash(int slotCount) {
+    slots = new int[slotCount];
+    int mask = slotCount - 1;
+    int slot;
+    for (int i = 0; i < size; i++) {
+      slot = hash(states[i]) & mask;
+      while (slots[slot] != 0) {
+        slot = (slot + 1) & mask;
+      }
+      slots[slot] = i + 1;
+    }
+  }
+}
\ No newline at end of file
@@ -0,0 +1,45 @@
+package com.rushhour;
+
+/**
+ * Rush Hour Striped State Map, a map from packed states to table indices that many threads can add
+ * to at once, used to collect the next layer of a parallel breadth-first search. States are spread
+ * over a fixed number of stripes by their hash, each stripe a StateTable (so states and indices
+ * stay in primitive arrays) guarded by its own lock, and when a state is added more than once the
+ * lowest index is kept, so the result doesn't depend on the order the threads got there.
+ */
+final class StripedStateMap {
+  // Number of stripes, a power of two well above the number of threads likely to share the map
+  private static final int STRIPES = 64;
+
+  final StateTable[] stripes = new StateTable[STRIPES];
+
+  // Constructor taking the number of states expected to be added
+  StripedStateMap(int expectedSize) {
+    for (int i = 0; i < STRIPES; i++) {
+      stripes[i] = new StateTable(expectedSize / STRIPES);
+    }
+  }
+
+  // Add a state with a given index, keeping the lower index if the state is already present
+  void merge(long state, int index) {
+    // The table hashes by the low bits, so the stripe is picked by the high ones
+    StateTable stripe = stripes[StateTable.hash(state) >>> 26 & (STRIPES - 1)];
+    synchronized (stripe) {
+      if (stripe.add(state, index, 0) == StateTable.NOT_FOUND) {
+        int i = stripe.indexOf(state);
+        if (index < stripe.parent(i)) {
+          stripe.changeParent(i, index);
+        }
+      }
+    }
+  }
+
+  // Number of states in the map
+  int size() {
+    int size = 0;
+    for (StateTable stripe : stripes) {
+      size += stripe.size();
+    }
+    return size;
+  }
+}
\ No newline at end of file
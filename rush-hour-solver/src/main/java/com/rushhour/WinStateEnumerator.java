@@ -0,0 +1,146 @@
+package com.rushhour;
+
+/**
+ * Rush Hour Win State Enumerator, lists the packed win states of a layout one at a time. The target
+ * car is placed at the exit and every other car is tried at each position along its lane that
+ * leaves room for the cars it can never pass (the cars sharing its lane and orientation stay in
+ * the same order), backtracking over an occupancy grid whenever a car doesn't fit. Nothing is
+ * enumerated until it is asked for, so a search can seed itself with a few win states and only
+ * pay for more if it needs them.
+ */
+public final class WinStateEnumerator {
+  final BoardLayout layout;
+  final int N;
+  final int numberOfCars;
+  // Range of positions the front of each car can take in a win state
+  final int[] minimumPosition;
+  final int[] maximumPosition;
+  // Position being tried for each car placed so far
+  final int[] position;
+  // Occupancy grid, indexed by y * N + x, holding the target car and the cars placed so far
+  final boolean[] occupied;
+  // Next car to place (0 once every win state has been listed)
+  int car;
+  long state;
+  // Win state found ahead by hasNext, or NO_STATE if there isn't one
+  long next = BoardLayout.NO_STATE;
+
+  // Explicit value constructor, taking the layout and any state of it (which supplies nothing but
+  // the packing of the cars)
+  public WinStateEnumerator(BoardLayout layout, long initialState) {
+    if (layout == null) {
+      throw new IllegalArgumentException("Layout cannot be null");
+    }
+    this.layout = layout;
+    this.N = layout.N();
+    this.numberOfCars = layout.numberOfCars();
+    this.minimumPosition = new int[numberOfCars];
+    this.maximumPosition = new int[numberOfCars];
+    this.position = new int[numberOfCars];
+    this.occupied = new boolean[N * N];
+    if (layout.targetExitPosition < 0) {
+      // The target car can never reach the exit, so there are no win states
+      this.car = 0;
+      return;
+    }
+
+    // Cars sharing a lane and orientation keep their order, so each car needs room for the ones
+    // ahead of it and behind it
+    for (int i = 1; i < numberOfCars; i++) {
+      int front = layout.position(initialState, i);
+      int ahead = 0;
+      int behind = 0;
+      for (int j = 0; j < numberOfCars; j++) {
+        if (j != i && layout.isHorizontal(j) == layout.isHorizontal(i) && layout.lane(j) == layout.lane(i)) {
+          if (layout.position(initialState, j) > front) {
+            ahead += layout.length(j);
+          } else {
+            behind += layout.length(j);
+          }
+        }
+      }
+      minimumPosition[i] = behind + layout.length(i) - 1;
+      maximumPosition[i] = N - 1 - ahead;
+    }
+
+    this.state = layout.withPosition(initialState, 0, layout.targetExitPosition);
+    paint(0, layout.targetExitPosition, true);
+    this.car = 1;
+    if (numberOfCars > 1) {
+      position[1] = minimumPosition[1];
+    }
+  }
+
+  // Function to check whether there are more win states
+  public boolean hasNext() {
+    if (next == BoardLayout.NO_STATE) {
+      next = findNext();
+    }
+    return next != BoardLayout.NO_STATE;
+  }
+
+  // Return the next win state, or NO_STATE if every win state has been listed
+  public long next() {
+    hasNext();
+    long winState = next;
+    next = BoardLayout.NO_STATE;
+    return winState;
+  }
+
+  // Helper function to advance the backtracking search to the next complete placement of the cars
+  private long findNext() {
+    while (car > 0) {
+      if (car == numberOfCars) {
+        // Every car is placed, back up so the next call carries on from the last car
+        long winState = state;
+        backUp();
+        return winState;
+      }
+      if (position[car] > maximumPosition[car]) {
+        // No positions left for this car
+        backUp();
+      } else if (fits(car, position[car])) {
+        paint(car, position[car], true);
+        state = layout.withPosition(state, car, position[car]);
+        car++;
+        if (car < numberOfCars) {
+          position[car] = minimumPosition[car];
+        }
+      } else {
+        position[car]++;
+      }
+    }
+    return BoardLayout.NO_STATE;
+  }
+
+  // Helper function to return to the previous car and move on to its next position
+  private void backUp() {
+    car--;
+    if (car > 0) {
+      paint(car, position[car], false);
+      position[car]++;
+    }
+  }
+
+  // Helper function to check whether a car fits with its front at a given position
+  private boolean fits(int carIndex, int front) {
+    for (int p = front - layout.length(carIndex) + 1; p <= front; p++) {
+      if (occupied[cell(carIndex, p)]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  // Helper function to mark or clear the cells covered by a car with its front at a given position
+  private void paint(int carIndex, int front, boolean value) {
+    for (int p = front - layout.length(carIndex) + 1; p <= front; p++) {
+      occupied[cell(carIndex, p)] = value;
+    }
+  }
+
+  // Helper function to find the grid index of a position along the lane of a car
+  private int cell(int carIndex, int p) {
+    return layout.isHorizontal(carIndex) ? layout.lane(carIndex) * N + p : p * N + layout.lane(carIndex);
+  }
+}
\ No newline at end of file
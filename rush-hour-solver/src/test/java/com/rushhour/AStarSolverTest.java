@@ -0,0 +1,33 @@
+package com.rushhour;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import org.junit.jupiter.api.Test;
+
+public class AStarSolverTest extends SolverTest {
+  @Override
+  public Solver createSolver(Board initialState) {
+    return new AStarSolver(initialState);
+  }
+
+  @Override
+  public Solver createSolver(Board initialState, MoveModel moveModel) {
+    return new AStarSolver(initialState, moveModel);
+  }
+
+  @Test
+  void optimalOnPuzzlesTest() throws IOException {
+    for (Board b : PerformanceTest.loadPuzzles("puzzles.txt")) {
+      assertEquals(new BreadthFirstSolver(b).solveProblem().size(), new AStarSolver(b).solveProblem().size());
+    }
+  }
+
+  @Test
+  void optimalSlidesOnPuzzlesTest() throws IOException {
+    for (Board b : PerformanceTest.loadPuzzles("puzzles.txt")) {
+      assertEquals(new BreadthFirstSolver(b, MoveModel.SLIDE).solveProblem().size(),
+                   new AStarSolver(b, MoveModel.SLIDE).solveProblem().size());
+    }
+  }
+}
@@ -0,0 +1,103 @@
+package com.rushhour;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+public class AnytimeSolverTest extends SolverTest {
+  @Override
+  public Solver createSolver(Board initialState) {
+    return new AnytimeSolver(initialState);
+  }
+
+  @Override
+  public Solver createSolver(Board initialState, MoveModel moveModel) {
+    return new AnytimeSolver(initialState, moveModel);
+  }
+
+  @Test
+  void optimalOnPuzzlesTest() throws IOException {
+    for (Board b : PerformanceTest.loadPuzzles("puzzles.txt")) {
+      AnytimeSolver solver = new AnytimeSolver(b);
+      assertEquals(new BreadthFirstSolver(b).solveProblem().size(), solver.solveProblem().size());
+      assertTrue(solver.provedOptimal());
+    }
+  }
+
+  @Test
+  void optimalSlidesOnPuzzlesTest() throws IOException {
+    for (Board b : PerformanceTest.loadPuzzles("puzzles.txt")) {
+      assertEquals(new BreadthFirstSolver(b, MoveModel.SLIDE).solveProblem().size(),
+                   new AnytimeSolver(b, MoveModel.SLIDE).solveProblem().size());
+    }
+  }
+
+  @Test
+  void improvingSolutionsTest() throws IOException {
+    int improved = 0;
+    for (Board b : PerformanceTest.loadPuzzles("puzzles.txt")) {
+      List<MoveSequence> published = new ArrayList<>();
+      AnytimeSolver solver = new AnytimeSolver(b, MoveModel.SINGLE_STEP, 5, published::add);
+      MoveSequence moves = solver.solveToMoves();
+      assertEquals(published.size(), solver.solutionsFound());
+      for (int i = 0; i < published.size(); i++) {
+        assertEquals(b, published.get(i).initialState());
+        assertTrue(published.get(i).finalState().solutionFound());
+        if (i > 0) {
+          assertTrue(published.get(i).numberOfMoves() < published.get(i - 1).numberOfMoves());
+        }
+      }
+      assertEquals(moves.numberOfMoves(), published.get(published.size() - 1).numberOfMoves());
+      if (published.size() > 1) {
+        improved++;
+      }
+    }
+    assertTrue(improved > 0);
+  }
+
+  @Test
+  void stoppedAfterFirstSolutionTest() throws IOException {
+    Board puzzle = PerformanceTest.loadPuzzles("puzzles.txt").get(39);
+    List<Long> expandedAtSolution = new ArrayList<>();
+    AnytimeSolver first = new AnytimeSolver(puzzle, MoveModel.SINGLE_STEP, 5, moves -> { });
+    first.listener = moves -> expandedAtSolution.add(first.statistics().nodesExpanded());
+    int optimal = first.solveToMoves().numberOfMoves();
+
+    // Stopped just after the first certificate, the search reports the limit and returns the
+    // certificate without the proof
+    List<MoveSequence> published = new ArrayList<>();
+    AnytimeSolver solver = new AnytimeSolver(puzzle, MoveModel.SINGLE_STEP, 5, published::add);
+    solver.withLimits(new SearchLimits(expandedAtSolution.get(0)));
+    SearchResult result = solver.solve();
+    assertEquals(SearchResult.Outcome.NODE_LIMIT_REACHED, result.outcome());
+    assertTrue(result.isLimitExceeded() && !result.isSolved());
+    assertFalse(solver.provedOptimal());
+    assertEquals(1, published.size());
+    assertEquals(published.get(0).numberOfMoves(), result.moves().numberOfMoves());
+    assertTrue(result.moves().numberOfMoves() >= optimal);
+  }
+
+  @Test
+  void solvedOnlyWhenProvedTest() throws IOException {
+    // A search that runs to the end reports SOLVED with the optimal certificate
+    Board puzzle = PerformanceTest.loadPuzzles("puzzles.txt").get(3);
+    AnytimeSolver solver = new AnytimeSolver(puzzle);
+    SearchResult result = solver.solve();
+    assertEquals(SearchResult.Outcome.SOLVED, result.outcome());
+    assertTrue(solver.provedOptimal());
+    assertEquals(new BreadthFirstSolver(puzzle).solveProblem().size() - 1, result.moves().numberOfMoves());
+  }
+
+  @Test
+  void invalidArgumentsTest() {
+    Board b = new Board();
+    assertThrows(IllegalArgumentException.class, () -> new AnytimeSolver(b, MoveModel.SINGLE_STEP, 0, moves -> { }));
+    assertThrows(IllegalArgumentException.class, () -> new AnytimeSolver(b, (MoveModel) null));
+  }
+}
\ No newline at end of file
@@ -0,0 +1,181 @@
+package com.rushhour;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+import org.junit.jupiter.api.Test;
+
+public class AsyncSolverTest {
+  // Solver that expands states until it is stopped, counting down latches as it starts and stops
+  static final class EndlessSolver implements Solver {
+    final CountDownLatch started;
+    final CountDownLatch stopped;
+    final SearchStatistics statistics = new SearchStatistics();
+
+    EndlessSolver(CountDownLatch started, CountDownLatch stopped) {
+      this.started = started;
+      this.stopped = stopped;
+    }
+
+    @Override
+    public List<Board> solveProblem() {
+      started.countDown();
+      try {
+        while (true) {
+          statistics.expanded(0);
+        }
+      } finally {
+        stopped.countDown();
+      }
+    }
+
+    @Override
+    public SearchStatistics statistics() {
+      return statistics;
+    }
+  }
+
+  @Test
+  void solvesPuzzlesConcurrentlyTest() throws Exception {
+    List<Board> puzzles = PerformanceTest.loadPuzzles("puzzles.txt");
+    int[] expected = new BatchSolver(BreadthFirstSolver::new).solutionLengths(puzzles);
+    try (AsyncSolver solver = new AsyncSolver(AStarSolver::new, 2)) {
+      List<CompletableFuture<SearchResult>> futures = new ArrayList<>();
+      for (Board b : puzzles) {
+        futures.add(solver.solve(b));
+      }
+      CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get(5, TimeUnit.MINUTES);
+      for (int i = 0; i < puzzles.size(); i++) {
+        SearchResult result = futures.get(i).get();
+        assertEquals(SearchResult.Outcome.SOLVED, result.outcome());
+        assertEquals(expected[i], result.moves().numberOfMoves() + 1);
+      }
+      assertEquals(0, solver.inFlight());
+    }
+  }
+
+  @Test
+  void cancellationStopsSearchTest() throws Exception {
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch stopped = new CountDownLatch(1);
+    AsyncSolver solver = new AsyncSolver(
+      b -> b.numberOfCars() == 0 ? new EndlessSolver(started, stopped) : new BreadthFirstSolver(b), 1);
+    try (solver) {
+      CompletableFuture<SearchResult> future = solver.solve(new Board());
+      assertTrue(started.await(1, TimeUnit.MINUTES));
+      assertTrue(future.cancel(true));
+      assertTrue(stopped.await(1, TimeUnit.MINUTES));
+
+      // The one permit is free again for the next puzzle
+      CompletableFuture<SearchResult> next = solver.solve(new Board(List.of(new Car(4, 2, 2, true))));
+      assertTrue(next.get(1, TimeUnit.MINUTES).isSolved());
+    }
+  }
+
+  @Test
+  void callerTokenStopsSearchTest() throws Exception {
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch stopped = new CountDownLatch(1);
+    CancellationToken token = new CancellationToken();
+    try (AsyncSolver solver = new AsyncSolver(b -> new EndlessSolver(started, stopped))) {
+      CompletableFuture<SearchResult> future = solver.solve(new Board(), new SearchLimits(token));
+      assertTrue(started.await(1, TimeUnit.MINUTES));
+      token.cancel();
+      assertEquals(SearchResult.Outcome.CANCELLED, future.get(1, TimeUnit.MINUTES).outcome());
+    }
+  }
+
+  @Test
+  void limitsTest() throws IOException, Exception {
+    Board puzzle = PerformanceTest.loadPuzzles("puzzles.txt").get(39);
+    try (AsyncSolver solver = new AsyncSolver(BreadthFirstSolver::new)) {
+      SearchResult result = solver.solve(puzzle, new SearchLimits(100)).get(1, TimeUnit.MINUTES);
+      assertEquals(SearchResult.Outcome.NODE_LIMIT_REACHED, result.outcome());
+      assertTrue(result.statistics().nodesExpanded() > 100);
+    }
+  }
+
+  @Test
+  void failuresTest() throws Exception {
+    try (AsyncSolver solver = new AsyncSolver(b -> { throw new IllegalArgumentException("bad"); })) {
+      ExecutionException e = assertThrows(ExecutionException.class, () -> solver.solve(new Board()).get());
+      assertInstanceOf(IllegalArgumentException.class, e.getCause());
+      assertThrows(IllegalArgumentException.class, () -> solver.solve(null));
+      solver.close();
+      CompletableFuture<SearchResult> rejected = solver.solve(new Board());
+      assertTrue(rejected.isCompletedExceptionally());
+      e = assertThrows(ExecutionException.class, rejected::get);
+      assertInstanceOf(IllegalStateException.class, e.getCause());
+      assertEquals(0, solver.inFlight());
+    }
+    assertThrows(IllegalArgumentException.class, () -> new AsyncSolver(null));
+    assertThrows(IllegalArgumentException.class, () -> new AsyncSolver(BreadthFirstSolver::new, 0));
+  }
+
+  @Test
+  void virtualThreadsTest() {
+    try (AsyncSolver solver = new AsyncSolver(BreadthFirstSolver::new)) {
+      assertEquals(Runtime.version().feature() >= 21, solver.usesVirtualThreads());
+    }
+  }
+
+  @Test
+  void virtualThreadSearchesTest() throws Exception {
+    // Only JVMs with virtual threads take this path
+    assumeTrue(Runtime.version().feature() >= 21);
+    List<Board> puzzles = PerformanceTest.loadPuzzles("puzzles.txt");
+    AtomicInteger running = new AtomicInteger();
+    AtomicInteger peak = new AtomicInteger();
+    AtomicBoolean allVirtual = new AtomicBoolean(true);
+    Method isVirtual = Thread.class.getMethod("isVirtual");
+    try (AsyncSolver solver = new AsyncSolver(b -> new Solver() {
+      final Solver inner = new BreadthFirstSolver(b);
+
+      @Override
+      public List<Board> solveProblem() {
+        peak.accumulateAndGet(running.incrementAndGet(), Math::max);
+        try {
+          if (!(Boolean) isVirtual.invoke(Thread.currentThread())) {
+            allVirtual.set(false);
+          }
+          return inner.solveProblem();
+        } catch (ReflectiveOperationException e) {
+          throw new RuntimeException(e);
+        } finally {
+          running.decrementAndGet();
+        }
+      }
+
+      @Override
+      public SearchStatistics statistics() {
+        return inner.statistics();
+      }
+    }, 2)) {
+      assertTrue(solver.usesVirtualThreads());
+      List<CompletableFuture<SearchResult>> futures = new ArrayList<>();
+      for (Board b : puzzles) {
+        futures.add(solver.solve(b));
+      }
+      for (CompletableFuture<SearchResult> future : futures) {
+        assertTrue(future.get(5, TimeUnit.MINUTES).isSolved());
+      }
+      // Every puzzle ran on a virtual thread, and the permits kept at most two searching at once
+      assertTrue(allVirtual.get());
+      assertTrue(peak.get() <= 2);
+      assertEquals(0, solver.inFlight());
+    }
+  }
+}
\ No newline at end of file
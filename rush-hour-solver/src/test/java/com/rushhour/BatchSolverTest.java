@@ -0,0 +1,140 @@
+package com.rushhour;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+public class BatchSolverTest {
+  @Test
+  void resultsInInputOrderTest() throws IOException {
+    List<Board> puzzles = PerformanceTest.loadPuzzles("puzzles.txt");
+    List<List<Board>> solutions = new BatchSolver(AStarSolver::new, 4).solveAll(puzzles);
+    assertEquals(puzzles.size(), solutions.size());
+    for (int i = 0; i < puzzles.size(); i++) {
+      assertEquals(puzzles.get(i), solutions.get(i).get(0));
+      assertTrue(solutions.get(i).get(solutions.get(i).size() - 1).solutionFound());
+    }
+  }
+
+  @Test
+  void solutionLengthsTest() throws IOException {
+    List<Board> puzzles = PerformanceTest.loadPuzzles("puzzles.txt");
+    int[] expected = new int[puzzles.size()];
+    for (int i = 0; i < expected.length; i++) {
+      expected[i] = new BreadthFirstSolver(puzzles.get(i)).solveProblem().size();
+    }
+    assertArrayEquals(expected, new BatchSolver(BreadthFirstSolver::new, 3).solutionLengths(puzzles));
+  }
+
+  @Test
+  void copiesAreSolvedOnceTest() throws IOException {
+    Board b = PerformanceTest.loadPuzzles("puzzles.txt").get(5);
+    List<Board> puzzles = List.of(b, CanonicalFormTest.transpose(b), CanonicalFormTest.mirror(b), b);
+    AtomicInteger searches = new AtomicInteger();
+    List<List<Board>> solutions = new BatchSolver(board -> {
+      searches.incrementAndGet();
+      return new BreadthFirstSolver(board);
+    }, 2).solveAll(puzzles);
+    assertEquals(1, searches.get());
+    for (int i = 0; i < puzzles.size(); i++) {
+      assertEquals(puzzles.get(i), solutions.get(i).get(0));
+      assertEquals(solutions.get(0).size(), solutions.get(i).size());
+      assertTrue(solutions.get(i).get(solutions.get(i).size() - 1).solutionFound());
+    }
+  }
+
+  @Test
+  void nonOptimalCopiesAreSolvedTest() throws IOException {
+    // A depth-first certificate depends on the car order, so each copy gets the one its own
+    // solver finds
+    Board b = PerformanceTest.loadPuzzles("puzzles.txt").get(5);
+    List<Board> puzzles = List.of(b, CanonicalFormTest.transpose(b), CanonicalFormTest.mirror(b), b);
+    AtomicInteger searches = new AtomicInteger();
+    List<List<Board>> solutions = new BatchSolver(board -> {
+      searches.incrementAndGet();
+      return new DepthFirstSolver(board);
+    }, 2).solveAll(puzzles);
+    assertEquals(4, searches.get());
+    for (int i = 0; i < puzzles.size(); i++) {
+      assertEquals(new DepthFirstSolver(puzzles.get(i)).solveProblem(), solutions.get(i));
+    }
+  }
+
+  @Test
+  void deduplicationCanBeTurnedOffTest() throws IOException {
+    Board b = PerformanceTest.loadPuzzles("puzzles.txt").get(5);
+    List<Board> puzzles = List.of(b, CanonicalFormTest.transpose(b), b);
+    AtomicInteger searches = new AtomicInteger();
+    int[] lengths = new BatchSolver(board -> {
+      searches.incrementAndGet();
+      return new BreadthFirstSolver(board);
+    }, 2, false).solutionLengths(puzzles);
+    assertEquals(3, searches.get());
+    assertEquals(lengths[0], lengths[1]);
+    assertEquals(lengths[0], lengths[2]);
+  }
+
+  @Test
+  void unsolvablePuzzleTest() {
+    ArrayList<Car> cars = new ArrayList<>();
+    cars.add(new Car(1, 2, 2, true));
+    cars.add(new Car(5, 2, 3, false));
+    cars.add(new Car(5, 5, 3, false));
+    List<Board> puzzles = List.of(new Board(cars), new Board(List.of(new Car(4, 2, 2, true))));
+    assertArrayEquals(new int[] {0, 2}, new BatchSolver(BreadthFirstSolver::new, 2).solutionLengths(puzzles));
+  }
+
+  @Test
+  void emptyBatchTest() {
+    assertTrue(new BatchSolver(BreadthFirstSolver::new).solveAll(new ArrayList<>()).isEmpty());
+  }
+
+  @Test
+  void failingPuzzleTest() {
+    // The solver throws for the second puzzle only, and the rest of the batch is still solved
+    Board solvable = new Board(List.of(new Car(4, 2, 2, true)));
+    Board failing = new Board(List.of(new Car(1, 2, 2, true), new Car(5, 3, 2, false)));
+    List<Board> puzzles = List.of(solvable, failing, solvable);
+    BatchSolver batch = new BatchSolver(b -> {
+      if (b.numberOfCars() == 2) {
+        throw new IllegalStateException("broken solver");
+      }
+      return new BreadthFirstSolver(b);
+    }, 2);
+    List<Integer> failedIndices = new ArrayList<>();
+    List<List<Board>> solutions = batch.solveAll(puzzles, (e, i) -> {
+      assertTrue(e instanceof IllegalStateException);
+      failedIndices.add(i);
+    });
+    assertEquals(List.of(1), failedIndices);
+    assertNull(solutions.get(1));
+    assertEquals(2, solutions.get(0).size());
+    assertEquals(2, solutions.get(2).size());
+    assertArrayEquals(new int[] {2, -1, 2}, batch.solutionLengths(puzzles));
+    assertNull(batch.solveAll(List.of(failing)).get(0));
+  }
+
+  @Test
+  void invalidArgumentsTest() {
+    assertThrows(IllegalArgumentException.class, () -> {
+      new BatchSolver(null);
+    });
+    assertThrows(IllegalArgumentException.class, () -> {
+      new BatchSolver(BreadthFirstSolver::new, 0);
+    });
+    assertThrows(IllegalArgumentException.class, () -> {
+      new BatchSolver(BreadthFirstSolver::new).solveAll(null);
+    });
+    assertThrows(IllegalArgumentException.class, () -> {
+      new BatchSolver(BreadthFirstSolver::new).solveAll(new ArrayList<>(), null);
+    });
+  }
+}
\ No newline at end of file
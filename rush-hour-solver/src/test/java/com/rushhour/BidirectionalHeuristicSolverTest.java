@@ -1,7 +1,9 @@
 package com.rushhour;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -13,6 +15,11 @@ public class BidirectionalHeuristicSolverTest extends SolverTest {
     return new BidirectionalHeuristicSolver(initialState);
   }
 
+  @Override
+  public Solver createSolver(Board initialState, MoveModel moveModel) {
+    return new BidirectionalHeuristicSolver(initialState, moveModel);
+  }
+
   @Test
   void targetCarAtExitFeasibleWinStatesTest() {
     ArrayList<Car> cars = new ArrayList<>();
@@ -81,4 +88,26 @@ public class BidirectionalHeuristicSolverTest extends SolverTest {
     assertTrue(s.contains(new Board(cars)));
   }
 
+  @Test
+  void winStatesPhaseIsTimedTest() {
+    ArrayList<Car> cars = new ArrayList<>();
+    cars.add(new Car(4, 2, 2, true));
+    cars.add(new Car(5, 3, 2, false));
+    Solver solver = new BidirectionalHeuristicSolver(new Board(cars));
+    solver.solveProblem();
+    assertTrue(solver.statistics().phaseTimes().containsKey(SearchStatistics.WIN_STATES));
+  }
+
+  @Test
+  void solvesEveryPuzzleTest() throws IOException {
+    // Certificates aren't necessarily shortest, but every solvable puzzle must be solved
+    for (Board b : PerformanceTest.loadPuzzles("puzzles.txt")) {
+      List<Board> solution = new BidirectionalHeuristicSolver(b).solveProblem();
+      assertEquals(b, solution.get(0));
+      assertTrue(solution.get(solution.size() - 1).solutionFound());
+      for (int i = 1; i < solution.size(); i++) {
+        assertEquals(1, solution.get(i).distanceFrom(solution.get(i - 1)));
+      }
+    }
+  }
 }
\ No newline at end of file
@@ -0,0 +1,72 @@
+package com.rushhour;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+public class BlockingCarHeuristicTest {
+  @Test
+  void noBlockersTest() {
+    Board b = new Board(List.of(new Car(1, 2, 2, true), new Car(0, 5, 3, false)));
+    BoardLayout layout = new BoardLayout(b);
+    assertEquals(4, new BlockingCarHeuristic(layout, MoveModel.SINGLE_STEP).evaluate(layout.encode(b)));
+    assertEquals(1, new BlockingCarHeuristic(layout, MoveModel.SLIDE).evaluate(layout.encode(b)));
+  }
+
+  @Test
+  void blockersTest() {
+    Board b = new Board(List.of(new Car(1, 2, 2, true), new Car(2, 2, 3, false), new Car(4, 3, 2, false),
+                                new Car(5, 5, 3, false)));
+    BoardLayout layout = new BoardLayout(b);
+    long state = layout.encode(b);
+    assertEquals(6, new BlockingCarHeuristic(layout, MoveModel.SINGLE_STEP).evaluate(state));
+    assertEquals(3, new BlockingCarHeuristic(layout, MoveModel.SLIDE).evaluate(state));
+  }
+
+  @Test
+  void solvedStateTest() {
+    Board b = new Board(List.of(new Car(5, 2, 2, true), new Car(2, 2, 3, false)));
+    BoardLayout layout = new BoardLayout(b);
+    assertEquals(0, new BlockingCarHeuristic(layout, MoveModel.SINGLE_STEP).evaluate(layout.encode(b)));
+  }
+
+  @Test
+  void verticalTargetCarTest() {
+    // Target car leaving through the bottom edge, with one car across its column and one beside it
+    Board b = new Board(6, 2, 5, List.of(new Car(2, 1, 2, false), new Car(3, 3, 3, true), new Car(5, 4, 2, true)));
+    BoardLayout layout = new BoardLayout(b);
+    long state = layout.encode(b);
+    assertEquals(5, new BlockingCarHeuristic(layout, MoveModel.SINGLE_STEP).evaluate(state));
+    assertEquals(2, new BlockingCarHeuristic(layout, MoveModel.SLIDE).evaluate(state));
+  }
+
+  @Test
+  void incrementalUpdateMatchesEvaluateTest() throws IOException {
+    Random random = new Random(1);
+    for (Board b : PerformanceTest.loadPuzzles("puzzles.txt")) {
+      BoardLayout layout = new BoardLayout(b);
+      for (MoveModel moveModel : MoveModel.values()) {
+        BlockingCarHeuristic heuristic = new BlockingCarHeuristic(layout, moveModel);
+        MoveGenerator generator = new MoveGenerator(layout, moveModel);
+        long state = layout.encode(b);
+        int value = heuristic.evaluate(state);
+        // Take a random walk, checking each incremental update (and that a move changes it by at
+        // most one, which keeps the heuristic consistent)
+        for (int step = 0; step < 200; step++) {
+          int numberOfMoves = generator.generate(state);
+          int i = random.nextInt(numberOfMoves);
+          long next = generator.successor(i);
+          int nextValue = heuristic.update(state, value, next, generator.movedCar(i));
+          assertEquals(heuristic.evaluate(next), nextValue);
+          assertTrue(Math.abs(nextValue - value) <= 1);
+          state = next;
+          value = nextValue;
+        }
+      }
+    }
+  }
+}
\ No newline at end of file
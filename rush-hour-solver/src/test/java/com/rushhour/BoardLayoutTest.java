@@ -0,0 +1,142 @@
+package com.rushhour;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+public class BoardLayoutTest {
+  @Test
+  void encodeThenDecodeTest() {
+    Board b = new Board(List.of(new Car(1, 2, 2, true), new Car(2, 2, 3, false), new Car(5, 5, 3, true)));
+    BoardLayout layout = new BoardLayout(b);
+    long state = layout.encode(b);
+    assertTrue(state >= 0);
+    assertEquals(b, layout.decode(state));
+    assertEquals(1, layout.position(state, 0));
+    assertEquals(2, layout.position(state, 1));
+    assertEquals(5, layout.position(state, 2));
+  }
+
+  @Test
+  void layoutGettersTest() {
+    Board b = new Board(7, 6, 3, List.of(new Car(2, 3, 2, true), new Car(4, 5, 3, false)));
+    BoardLayout layout = new BoardLayout(b);
+    assertEquals(7, layout.N());
+    assertEquals(6, layout.exitXPosition());
+    assertEquals(3, layout.exitYPosition());
+    assertEquals(2, layout.numberOfCars());
+    assertEquals(3, layout.length(1));
+    assertFalse(layout.isHorizontal(1));
+    assertEquals(3, layout.lane(0));
+    assertEquals(4, layout.lane(1));
+  }
+
+  @Test
+  void withPositionTest() {
+    Board b = new Board(List.of(new Car(1, 2, 2, true), new Car(3, 5, 2, false)));
+    BoardLayout layout = new BoardLayout(b);
+    long state = layout.withPosition(layout.encode(b), 1, 3);
+    assertEquals(1, layout.position(state, 0));
+    assertEquals(3, layout.position(state, 1));
+  }
+
+  @Test
+  void tryMoveAgreesWithBoardTest() {
+    Board b = new Board(List.of(new Car(1, 2, 2, true), new Car(2, 2, 3, false), new Car(5, 0, 2, true),
+                                new Car(2, 3, 3, true), new Car(5, 5, 3, false)));
+    BoardLayout layout = new BoardLayout(b);
+    long state = layout.encode(b);
+    for (int i = 0; i < b.numberOfCars(); i++) {
+      for (boolean movingForward : new boolean[] {true, false}) {
+        Board expected = b.tryMove(i, movingForward);
+        long actual = layout.tryMove(state, i, movingForward);
+        if (expected == null) {
+          assertEquals(BoardLayout.NO_STATE, actual);
+        } else {
+          assertEquals(expected, layout.decode(actual));
+        }
+      }
+    }
+  }
+
+  @Test
+  void isSolvedTest() {
+    Board b = new Board(List.of(new Car(4, 2, 2, true)));
+    BoardLayout layout = new BoardLayout(b);
+    long state = layout.encode(b);
+    assertFalse(layout.isSolved(state));
+    assertTrue(layout.isSolved(layout.tryMove(state, 0, true)));
+  }
+
+  @Test
+  void distanceTest() {
+    ArrayList<Car> cars = new ArrayList<>();
+    for (int i = 2; i < 6; i++) {
+      cars.add(new Car(2, i, 2, true));
+    }
+    Board a = new Board(cars);
+    Board b = new Board(a);
+    b.cars().get(0).moveForward();
+    b.cars().get(0).moveForward();
+    b.cars().get(3).moveBackward();
+    BoardLayout layout = new BoardLayout(a);
+    assertEquals(3, layout.distance(layout.encode(a), layout.encode(b)));
+  }
+
+  @Test
+  void layoutsOfDifferentStatesAreEqualTest() {
+    Board a = new Board(List.of(new Car(1, 2, 2, true), new Car(4, 3, 2, false)));
+    Board b = new Board(List.of(new Car(3, 2, 2, true), new Car(4, 5, 2, false)));
+    assertEquals(new BoardLayout(a), new BoardLayout(b));
+    assertEquals(new BoardLayout(a).hashCode(), new BoardLayout(b).hashCode());
+    Board c = new Board(List.of(new Car(1, 2, 2, true), new Car(3, 3, 2, false)));
+    assertNotEquals(new BoardLayout(a), new BoardLayout(c));
+  }
+
+  @Test
+  void encodeMismatchedBoardTest() {
+    BoardLayout layout = new BoardLayout(new Board(List.of(new Car(1, 2, 2, true))));
+    assertThrows(IllegalArgumentException.class, () -> {
+      layout.encode(new Board(List.of(new Car(2, 2, 3, true))));
+    });
+  }
+
+  @Test
+  void tooManyCarsTest() {
+    ArrayList<Car> cars = new ArrayList<>();
+    cars.add(new Car(1, 0, 2, true));
+    for (int i = 1; i < 32; i++) {
+      cars.add(new Car(i, 31, 2, false));
+    }
+    assertThrows(IllegalArgumentException.class, () -> {
+      new BoardLayout(new Board(32, 31, 0, cars));
+    });
+  }
+
+  @Test
+  void stateBitsBoundaryTest() {
+    // On a 10x10 board a car of length 2 takes 4 bits and one of length 3 takes 3, so the target
+    // car, 14 more cars of length 2 and one of length 3 need exactly 63 bits
+    ArrayList<Car> cars = new ArrayList<>();
+    cars.add(new Car(1, 0, 2, true));
+    for (int i = 0; i < 14; i++) {
+      cars.add(new Car(1 + 2 * (i % 5), 1 + i / 5, 2, true));
+    }
+    cars.add(new Car(9, 7, 3, false));
+    Board b = new Board(10, 9, 0, cars);
+    BoardLayout layout = new BoardLayout(b);
+    assertEquals(b, layout.decode(layout.encode(b)));
+
+    // Another car of length 2 instead of the one of length 3 takes it to 64 bits
+    cars.set(cars.size() - 1, new Car(9, 3, 2, true));
+    assertThrows(IllegalArgumentException.class, () -> {
+      new BoardLayout(new Board(10, 9, 0, cars));
+    });
+  }
+}
\ No newline at end of file
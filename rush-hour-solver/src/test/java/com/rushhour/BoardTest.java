@@ -257,4 +257,28 @@ public class BoardTest {
     assertEquals(3, a.distanceFrom(b));
     assertEquals(3, b.distanceFrom(a));
   }
-}
\ No newline at end of file
+
+  @Test
+  void tryMoveTest() {
+    Board a = new Board(List.of(new Car(1, 2, 2, true), new Car(2, 2, 3, false)));
+    assertTrue(a.tryMove(0, true) == null);
+    assertFalse(a.moveIsPossible(0, true));
+    Board b = a.tryMove(1, true);
+    assertTrue(a.moveIsPossible(1, true));
+    assertEquals(3, b.cars().get(1).yPosition());
+    assertEquals(2, a.cars().get(1).yPosition());
+    assertTrue(b.validateCars());
+    assertTrue(a.tryMove(1, false) == null);
+    assertFalse(a.moveIsPossible(1, false));
+  }
+
+  @Test
+  void tryMoveOffBoardTest() {
+    Board a = new Board(List.of(new Car(5, 2, 2, true), new Car(0, 5, 3, false)));
+    assertTrue(a.tryMove(0, true) == null);
+    assertTrue(a.tryMove(1, true) == null);
+    assertFalse(a.moveIsPossible(1, true));
+    assertTrue(a.moveIsPossible(1, false));
+    assertTrue(a.tryMove(2, true) == null);
+  }
+}
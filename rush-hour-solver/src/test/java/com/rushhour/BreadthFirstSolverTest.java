@@ -1,8 +1,51 @@
 package com.rushhour;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import org.junit.jupiter.api.Test;
+
 public class BreadthFirstSolverTest extends SolverTest {
   @Override
   public Solver createSolver(Board initialState) {
     return new BreadthFirstSolver(initialState);
   }
+
+  @Override
+  public Solver createSolver(Board initialState, MoveModel moveModel) {
+    return new BreadthFirstSolver(initialState, moveModel);
+  }
+
+  @Test
+  void slideCountsWholeSlideAsOneMoveTest() {
+    Board initialState = new Board(List.of(new Car(1, 2, 2, true), new Car(3, 4, 3, false)));
+    assertEquals(6, new BreadthFirstSolver(initialState).solveProblem().size());
+    // One slide of the truck and one slide of the target car are enough
+    assertEquals(3, new BreadthFirstSolver(initialState, MoveModel.SLIDE).solveProblem().size());
+  }
+
+  @Test
+  void statisticsOfExhaustiveSearchTest() {
+    ArrayList<Car> cars = new ArrayList<>();
+    cars.add(new Car(1, 2, 2, true));
+    cars.add(new Car(5, 2, 3, false));
+    cars.add(new Car(5, 5, 3, false));
+    Board initialState = new Board(cars);
+    ForkJoinPool pool = new ForkJoinPool(2);
+    try {
+      for (Solver solver : List.of(new BreadthFirstSolver(initialState),
+                                   new BreadthFirstSolver(initialState, MoveModel.SINGLE_STEP, pool))) {
+        assertEquals(0, solver.solveProblem().size());
+        // Every reachable state is expanded, and every generated state but the new ones is a duplicate
+        SearchStatistics statistics = solver.statistics();
+        assertEquals(statistics.peakVisitedSize(), statistics.nodesExpanded());
+        assertEquals(statistics.nodesGenerated() - (statistics.peakVisitedSize() - 1), statistics.duplicates());
+        assertEquals(0, statistics.phaseTime(SearchStatistics.CERTIFICATE));
+      }
+    } finally {
+      pool.shutdown();
+    }
+  }
 }
\ No newline at end of file
@@ -0,0 +1,98 @@
+package com.rushhour;
+
+import java.util.PriorityQueue;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+public class BucketQueueTest {
+  @Test
+  void emptyQueueTest() {
+    BucketQueue q = new BucketQueue();
+    assertTrue(q.isEmpty());
+    assertEquals(0, q.size());
+    assertThrows(IllegalStateException.class, () -> {
+      q.poll();
+    });
+    assertThrows(IllegalStateException.class, () -> {
+      q.peekF();
+    });
+  }
+
+  @Test
+  void lowestPriorityFirstTest() {
+    BucketQueue q = new BucketQueue(4);
+    q.add(5, 2, 10);
+    q.add(3, 1, 11);
+    q.add(7, 0, 12);
+    q.add(3, 3, 13);
+    assertEquals(4, q.size());
+    assertEquals(3, q.peekF());
+    // Equal priorities come out most recently added first
+    assertEquals(13, q.poll());
+    assertEquals(3, q.polledF());
+    assertEquals(3, q.polledG());
+    assertEquals(11, q.poll());
+    assertEquals(1, q.polledG());
+    // A lower priority added later is still taken first
+    q.add(1, 1, 14);
+    assertEquals(14, q.poll());
+    assertEquals(1, q.polledF());
+    assertEquals(10, q.poll());
+    assertEquals(5, q.polledF());
+    assertEquals(12, q.poll());
+    assertEquals(7, q.polledF());
+    assertTrue(q.isEmpty());
+  }
+
+  @Test
+  void randomOrderTest() {
+    // Entries come out in the same order of priority as from a binary heap, over many buckets
+    Random random = new Random(15);
+    BucketQueue q = new BucketQueue(0);
+    PriorityQueue<Integer> expected = new PriorityQueue<>();
+    for (int i = 0; i < 10000; i++) {
+      int f = random.nextInt(500);
+      q.add(f, f / 2, i);
+      expected.add(f);
+      if (random.nextInt(3) == 0) {
+        q.poll();
+        assertEquals((int) expected.poll(), q.polledF());
+        assertEquals(q.polledF() / 2, q.polledG());
+      }
+    }
+    while (!q.isEmpty()) {
+      q.poll();
+      assertEquals((int) expected.poll(), q.polledF());
+    }
+    assertTrue(expected.isEmpty());
+  }
+
+  @Test
+  void clearTest() {
+    BucketQueue q = new BucketQueue();
+    q.add(9, 0, 1);
+    q.add(4, 0, 2);
+    q.clear();
+    assertTrue(q.isEmpty());
+    q.add(6, 0, 3);
+    assertFalse(q.isEmpty());
+    assertEquals(3, q.poll());
+    assertEquals(6, q.polledF());
+  }
+
+  @Test
+  void invalidPriorityTest() {
+    BucketQueue q = new BucketQueue();
+    assertThrows(IllegalArgumentException.class, () -> {
+      q.add(-1, 0, 0);
+    });
+    assertThrows(IllegalArgumentException.class, () -> {
+      q.add(0, -1, 0);
+    });
+  }
+}
\ No newline at end of file
@@ -0,0 +1,105 @@
+package com.rushhour;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class CachedSolverTest {
+  @TempDir
+  Path directory;
+
+  @Test
+  void secondSolveIsAHitTest() throws IOException {
+    Board b = PerformanceTest.loadPuzzles("puzzles.txt").get(3);
+    AtomicInteger searches = new AtomicInteger();
+    try (DiskSolutionCache cache = new DiskSolutionCache(directory.resolve("cache.bin"))) {
+      CachedSolver first = new CachedSolver(b, MoveModel.SINGLE_STEP, cache, (board, moveModel) -> {
+        searches.incrementAndGet();
+        return new AStarSolver(board, moveModel);
+      });
+      List<Board> solution = first.solveProblem();
+      assertTrue(first.statistics().nodesExpanded() > 0);
+      assertTrue(first.statistics().phaseTime(SearchStatistics.CACHE) > 0);
+
+      CachedSolver second = new CachedSolver(b, MoveModel.SINGLE_STEP, cache, (board, moveModel) -> {
+        searches.incrementAndGet();
+        return new AStarSolver(board, moveModel);
+      });
+      assertEquals(solution, second.solveProblem());
+      assertEquals(0, second.statistics().nodesExpanded());
+      assertEquals(1, searches.get());
+    }
+  }
+
+  @Test
+  void unsolvableBoardIsNotCachedTest() throws IOException {
+    Board b = new Board(List.of(new Car(1, 2, 2, true), new Car(5, 5, 6, false)));
+    try (DiskSolutionCache cache = new DiskSolutionCache(directory.resolve("cache.bin"))) {
+      CachedSolver solver = new CachedSolver(b, cache);
+      assertTrue(solver.solveProblem().isEmpty());
+      assertNull(solver.solveToMoves());
+      assertEquals(0, cache.size());
+    }
+  }
+
+  @Test
+  void moveModelsAreCachedSeparatelyTest() throws IOException {
+    // One slide of the truck and one of the target car, but five single steps between them
+    Board b = new Board(List.of(new Car(1, 2, 2, true), new Car(3, 4, 3, false)));
+    try (DiskSolutionCache cache = new DiskSolutionCache(directory.resolve("cache.bin"))) {
+      CachedSolver slide = new CachedSolver(b, MoveModel.SLIDE, cache);
+      assertEquals(3, slide.solveProblem().size());
+      CachedSolver singleStep = new CachedSolver(b, MoveModel.SINGLE_STEP, cache);
+      assertEquals(6, singleStep.solveProblem().size());
+      assertTrue(singleStep.statistics().nodesExpanded() > 0);
+      assertEquals(2, cache.size());
+      assertEquals(3, new CachedSolver(b, MoveModel.SLIDE, cache).solveProblem().size());
+    }
+  }
+
+  @Test
+  void nonOptimalCertificatesAreNotCachedTest() throws IOException {
+    Board b = PerformanceTest.loadPuzzles("puzzles.txt").get(3);
+    LruSolutionCache cache = new LruSolutionCache(4);
+    CachedSolver depthFirst = new CachedSolver(b, MoveModel.SINGLE_STEP, cache, DepthFirstSolver::new);
+    assertTrue(depthFirst.solveProblem().get(0).equals(b));
+    assertFalse(depthFirst.isOptimal());
+    assertEquals(0, cache.size());
+
+    // An optimal certificate is cached, and then handed out even to a depth-first solver
+    CachedSolver breadthFirst = new CachedSolver(b, cache);
+    List<Board> solution = breadthFirst.solveProblem();
+    assertTrue(breadthFirst.isOptimal());
+    assertEquals(1, cache.size());
+    depthFirst = new CachedSolver(b, MoveModel.SINGLE_STEP, cache, DepthFirstSolver::new);
+    assertEquals(solution, depthFirst.solveProblem());
+    assertTrue(depthFirst.isOptimal());
+  }
+
+  @Test
+  void invalidArgumentsTest() throws IOException {
+    try (DiskSolutionCache cache = new DiskSolutionCache(directory.resolve("cache.bin"))) {
+      assertThrows(IllegalArgumentException.class, () -> {
+        new CachedSolver(null, cache);
+      });
+      assertThrows(IllegalArgumentException.class, () -> {
+        new CachedSolver(new Board(), null);
+      });
+      assertThrows(IllegalArgumentException.class, () -> {
+        new CachedSolver(new Board(), MoveModel.SINGLE_STEP, cache, null);
+      });
+      assertThrows(IllegalArgumentException.class, () -> {
+        new CachedSolver(new Board(), null, cache);
+      });
+    }
+  }
+}
\ No newline at end of file
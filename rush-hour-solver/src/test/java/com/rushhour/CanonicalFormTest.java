@@ -0,0 +1,110 @@
+package com.rushhour;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+public class CanonicalFormTest {
+  // Helper function to swap the x and y axes of a board
+  static Board transpose(Board b) {
+    List<Car> cars = new ArrayList<>();
+    for (Car c : b.cars()) {
+      cars.add(new Car(c.yPosition(), c.xPosition(), c.length(), !c.isHorizontal()));
+    }
+    return new Board(b.N(), b.exitYPosition(), b.exitXPosition(), cars);
+  }
+
+  // Helper function to mirror a board top to bottom
+  static Board mirror(Board b) {
+    int N = b.N();
+    List<Car> cars = new ArrayList<>();
+    for (Car c : b.cars()) {
+      int y = c.isHorizontal() ? N - 1 - c.yPosition() : N - 1 - (c.yPosition() - c.length() + 1);
+      cars.add(new Car(c.xPosition(), y, c.length(), c.isHorizontal()));
+    }
+    return new Board(N, b.exitXPosition(), N - 1 - b.exitYPosition(), cars);
+  }
+
+  @Test
+  void carOrderIsIgnoredTest() {
+    Board b = new Board(List.of(new Car(1, 2, 2, true), new Car(2, 2, 3, false), new Car(4, 3, 2, false),
+                                new Car(5, 5, 3, false)));
+    Board shuffled = new Board(List.of(new Car(1, 2, 2, true), new Car(5, 5, 3, false), new Car(2, 2, 3, false),
+                                       new Car(4, 3, 2, false)));
+    assertNotEquals(b, shuffled);
+    CanonicalForm form = new CanonicalForm(b);
+    CanonicalForm shuffledForm = new CanonicalForm(shuffled);
+    assertEquals(form, shuffledForm);
+    assertEquals(form.hashCode(), shuffledForm.hashCode());
+    // Each car maps to the same canonical index in either board
+    assertEquals(form.canonicalIndex(1), shuffledForm.canonicalIndex(2));
+    assertEquals(form.canonicalIndex(3), shuffledForm.canonicalIndex(1));
+    assertEquals(0, shuffledForm.canonicalIndex(0));
+    for (int c = 0; c < 4; c++) {
+      assertEquals(c, form.canonicalIndex(form.boardIndex(c)));
+    }
+  }
+
+  @Test
+  void differentPuzzlesTest() {
+    Board b = new Board(List.of(new Car(1, 2, 2, true), new Car(2, 2, 3, false)));
+    // Same cars with one moved along its lane
+    Board otherPosition = new Board(List.of(new Car(1, 2, 2, true), new Car(2, 3, 3, false)));
+    // Same cars with the exit elsewhere
+    Board otherExit = new Board(6, 5, 3, List.of(new Car(1, 3, 2, true), new Car(2, 2, 3, false)));
+    assertNotEquals(new CanonicalForm(b), new CanonicalForm(otherPosition));
+    assertNotEquals(new CanonicalForm(b), new CanonicalForm(otherExit));
+  }
+
+  @Test
+  void symmetriesTest() throws IOException {
+    for (Board b : PerformanceTest.loadPuzzles("puzzles.txt").subList(0, 10)) {
+      CanonicalForm form = new CanonicalForm(b);
+      assertEquals(form, new CanonicalForm(transpose(b)));
+      assertEquals(form, new CanonicalForm(mirror(b)));
+      assertEquals(form, new CanonicalForm(transpose(mirror(b))));
+    }
+  }
+
+  @Test
+  void middleRowExitTest() {
+    // With the exit in the middle row a board and its mirror image both keep the exit in place
+    Board b = new Board(5, 4, 2, List.of(new Car(1, 2, 2, true), new Car(2, 2, 2, false), new Car(3, 4, 2, false)));
+    assertEquals(new CanonicalForm(b), new CanonicalForm(mirror(b)));
+  }
+
+  @Test
+  void mirroredMovesTest() throws IOException {
+    // Vertical cars move the opposite way in a mirrored board
+    Board b = PerformanceTest.loadPuzzles("puzzles.txt").get(2);
+    Board mirrored = transpose(mirror(b));
+    MoveSequence moves = new BreadthFirstSolver(b).solveToMoves();
+    int[] canonical = new CanonicalForm(b).toCanonicalMoves(moves);
+    MoveSequence replayed = new CanonicalForm(mirrored).toMoveSequence(mirrored, canonical);
+    assertEquals(mirrored, replayed.initialState());
+    assertEquals(moves.numberOfMoves(), replayed.numberOfMoves());
+    List<Board> boards = replayed.toBoards();
+    for (Board step : boards) {
+      assertTrue(step.validateCars());
+    }
+    assertTrue(replayed.finalState().solutionFound());
+  }
+
+  @Test
+  void movesRoundTripTest() {
+    Board b = new Board(List.of(new Car(3, 2, 2, true), new Car(5, 2, 2, false), new Car(4, 4, 2, false)));
+    Board shuffled = new Board(List.of(new Car(3, 2, 2, true), new Car(4, 4, 2, false), new Car(5, 2, 2, false)));
+    MoveSequence moves = new BreadthFirstSolver(b).solveToMoves();
+    // Moves recorded against the canonical order of one board replay on the other
+    int[] canonical = new CanonicalForm(b).toCanonicalMoves(moves);
+    MoveSequence replayed = new CanonicalForm(shuffled).toMoveSequence(shuffled, canonical);
+    assertEquals(moves.numberOfMoves(), replayed.numberOfMoves());
+    assertEquals(shuffled, replayed.initialState());
+    assertTrue(replayed.finalState().solutionFound());
+  }
+}
\ No newline at end of file
@@ -5,4 +5,9 @@ public class DepthFirstSolverTest extends SolverTest {
   protected Solver createSolver(Board initialState) {
     return new DepthFirstSolver(initialState);
   }
+
+  @Override
+  public Solver createSolver(Board initialState, MoveModel moveModel) {
+    return new DepthFirstSolver(initialState, moveModel);
+  }
 }
\ No newline at end of file
@@ -0,0 +1,172 @@
+package com.rushhour;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class DiskSolutionCacheTest {
+  @TempDir
+  Path directory;
+
+  @Test
+  void putAndGetTest() throws IOException {
+    Board b = new Board(List.of(new Car(1, 2, 2, true), new Car(2, 2, 3, false)));
+    MoveSequence moves = new BreadthFirstSolver(b).solveToMoves();
+    try (DiskSolutionCache cache = new DiskSolutionCache(directory.resolve("cache.bin"))) {
+      assertNull(cache.get(b));
+      cache.put(b, moves);
+      assertEquals(1, cache.size());
+      assertEquals(moves.toString(), cache.get(b).toString());
+      assertEquals(moves.toBoards(), cache.get(b).toBoards());
+      // Caching a board again changes nothing
+      cache.put(b, moves);
+      assertEquals(1, cache.size());
+    }
+  }
+
+  @Test
+  void persistenceTest() throws IOException {
+    Path file = directory.resolve("cache.bin");
+    List<Board> puzzles = PerformanceTest.loadPuzzles("puzzles.txt").subList(0, 5);
+    try (DiskSolutionCache cache = new DiskSolutionCache(file)) {
+      for (Board b : puzzles) {
+        cache.put(b, new BreadthFirstSolver(b).solveToMoves());
+      }
+    }
+    try (DiskSolutionCache cache = new DiskSolutionCache(file)) {
+      assertEquals(5, cache.size());
+      for (Board b : puzzles) {
+        assertEquals(new BreadthFirstSolver(b).solveProblem(), cache.get(b).toBoards());
+      }
+    }
+    // The file is trimmed to the records in use
+    assertTrue(Files.size(file) < 4096);
+  }
+
+  @Test
+  void carOrderTest() throws IOException {
+    // A certificate cached for one car order is translated to the car order of the board asked for
+    Board b = new Board(List.of(new Car(3, 2, 2, true), new Car(5, 2, 2, false), new Car(4, 4, 2, false)));
+    Board shuffled = new Board(List.of(new Car(3, 2, 2, true), new Car(4, 4, 2, false), new Car(5, 2, 2, false)));
+    try (DiskSolutionCache cache = new DiskSolutionCache(directory.resolve("cache.bin"))) {
+      cache.put(b, new BreadthFirstSolver(b).solveToMoves());
+      MoveSequence moves = cache.get(shuffled);
+      assertEquals(shuffled, moves.initialState());
+      assertEquals(new BreadthFirstSolver(shuffled).solveProblem().size(), moves.toBoards().size());
+      assertTrue(moves.finalState().solutionFound());
+    }
+  }
+
+  @Test
+  void growTest() throws IOException {
+    Path file = directory.resolve("cache.bin");
+    List<Board> puzzles = PerformanceTest.loadPuzzles("puzzles.txt").subList(0, 10);
+    // A mapping of a few records at a time, so the file is remapped several times
+    try (DiskSolutionCache cache = new DiskSolutionCache(file, 64)) {
+      for (Board b : puzzles) {
+        cache.put(b, new BreadthFirstSolver(b).solveToMoves());
+      }
+      for (Board b : puzzles) {
+        assertTrue(cache.get(b).finalState().solutionFound());
+      }
+    }
+    try (DiskSolutionCache cache = new DiskSolutionCache(file)) {
+      assertEquals(10, cache.size());
+    }
+  }
+
+  @Test
+  void moveModelPersistenceTest() throws IOException {
+    Path file = directory.resolve("cache.bin");
+    Board b = PerformanceTest.loadPuzzles("puzzles.txt").get(0);
+    try (DiskSolutionCache cache = new DiskSolutionCache(file)) {
+      cache.put(b, MoveModel.SLIDE, new BreadthFirstSolver(b, MoveModel.SLIDE).solveToMoves());
+      assertNull(cache.get(b, MoveModel.SINGLE_STEP));
+    }
+    try (DiskSolutionCache cache = new DiskSolutionCache(file)) {
+      assertNull(cache.get(b));
+      assertEquals(new BreadthFirstSolver(b, MoveModel.SLIDE).solveProblem(),
+                   cache.get(b, MoveModel.SLIDE).toBoards());
+    }
+  }
+
+  @Test
+  void lockedWhileOpenTest() throws IOException {
+    Path file = directory.resolve("cache.bin");
+    try (DiskSolutionCache cache = new DiskSolutionCache(file)) {
+      assertThrows(IOException.class, () -> {
+        new DiskSolutionCache(file);
+      });
+    }
+    // Closing releases the lock
+    try (DiskSolutionCache cache = new DiskSolutionCache(file)) {
+      assertEquals(0, cache.size());
+    }
+  }
+
+  @Test
+  void invalidCacheTest() throws IOException {
+    Path file = directory.resolve("not-a-cache.txt");
+    Files.writeString(file, "this is not a solution cache");
+    assertThrows(IOException.class, () -> {
+      new DiskSolutionCache(file);
+    });
+    try (DiskSolutionCache cache = new DiskSolutionCache(directory.resolve("cache.bin"))) {
+      assertThrows(IllegalArgumentException.class, () -> {
+        cache.put(new Board(), null);
+      });
+    }
+  }
+
+  @Test
+  void closedCacheTest() throws IOException {
+    Path file = directory.resolve("cache.bin");
+    Board b = new Board(List.of(new Car(1, 2, 2, true)));
+    DiskSolutionCache first = new DiskSolutionCache(file);
+    first.put(b, new BreadthFirstSolver(b).solveToMoves());
+    first.close();
+    assertThrows(IllegalStateException.class, () -> first.get(b));
+    assertThrows(IllegalStateException.class, () -> first.put(b, new BreadthFirstSolver(b).solveToMoves()));
+
+    // Closing again does nothing, and in particular doesn't unregister a cache reopened since
+    try (DiskSolutionCache second = new DiskSolutionCache(file)) {
+      first.close();
+      assertThrows(IOException.class, () -> new DiskSolutionCache(file));
+      assertEquals(1, second.size());
+    }
+  }
+
+  @Test
+  void corruptRecordTest() throws IOException {
+    Path file = directory.resolve("cache.bin");
+    Board b = new Board(List.of(new Car(1, 2, 2, true)));
+    try (DiskSolutionCache cache = new DiskSolutionCache(file)) {
+      cache.put(b, new BreadthFirstSolver(b).solveToMoves());
+    }
+    byte[] valid = Files.readAllBytes(file);
+    int keyLength = ByteBuffer.wrap(valid).getInt(DiskSolutionCache.HEADER_SIZE);
+    // A key running past the records in use, a negative key length, and too many moves
+    int[][] corruptions = {
+      {DiskSolutionCache.HEADER_SIZE, 1 << 20},
+      {DiskSolutionCache.HEADER_SIZE, -1},
+      {DiskSolutionCache.HEADER_SIZE + 4 * (keyLength + 2), 1 << 20},
+      {DiskSolutionCache.HEADER_SIZE + 4 * (keyLength + 2), -5}
+    };
+    for (int[] corruption : corruptions) {
+      byte[] bytes = valid.clone();
+      ByteBuffer.wrap(bytes).putInt(corruption[0], corruption[1]);
+      Files.write(file, bytes);
+      IOException e = assertThrows(IOException.class, () -> new DiskSolutionCache(file));
+      assertTrue(e.getMessage().contains("corrupt"));
+    }
+  }
+}
\ No newline at end of file
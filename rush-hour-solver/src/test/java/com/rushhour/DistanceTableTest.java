@@ -0,0 +1,101 @@
+package com.rushhour;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+public class DistanceTableTest {
+  @Test
+  void distancesMatchSearchTest() throws IOException {
+    // Every state of the layout is answered, so check puzzles and a few states reached from them
+    List<Board> puzzles = PerformanceTest.loadPuzzles("puzzles.txt").subList(0, 2);
+    for (Board puzzle : puzzles) {
+      for (MoveModel moveModel : MoveModel.values()) {
+        DistanceTable table = new DistanceTable(puzzle, moveModel);
+        BoardLayout layout = new BoardLayout(puzzle);
+        MoveGenerator generator = new MoveGenerator(layout, moveModel);
+        int numberOfMoves = generator.generate(layout.encode(puzzle));
+        for (int i = 0; i < numberOfMoves; i++) {
+          Board b = layout.decode(generator.successor(i));
+          int expected = new BreadthFirstSolver(b, moveModel).solveProblem().size() - 1;
+          assertEquals(expected, table.distance(b));
+          MoveSequence moves = table.solve(b);
+          assertEquals(expected, moves.numberOfMoves());
+          assertTrue(moves.finalState().solutionFound());
+        }
+      }
+    }
+  }
+
+  @Test
+  void solvedBoardTest() {
+    Board b = new Board(List.of(new Car(5, 2, 2, true), new Car(2, 2, 3, false)));
+    DistanceTable table = new DistanceTable(b);
+    assertEquals(0, table.distance(b));
+    assertEquals(0, table.solve(b).numberOfMoves());
+  }
+
+  @Test
+  void unsolvableBoardTest() {
+    // A truck filling the exit column can never leave room for the target car
+    Board b = new Board(List.of(new Car(1, 2, 2, true), new Car(5, 5, 6, false)));
+    DistanceTable table = new DistanceTable(b);
+    assertEquals(-1, table.distance(b));
+    assertNull(table.solve(b));
+    assertEquals(0, table.reachableStates());
+  }
+
+  @Test
+  void otherLayoutTest() {
+    DistanceTable table = new DistanceTable(new Board(List.of(new Car(1, 2, 2, true))));
+    assertThrows(IllegalArgumentException.class, () -> {
+      table.distance(new Board(List.of(new Car(2, 2, 3, true))));
+    });
+    assertThrows(IllegalArgumentException.class, () -> {
+      table.distance(null);
+    });
+  }
+
+  @Test
+  void onlyReachableStatesHeldTest() {
+    // 15 cars of length 2 in three lanes of a 16x16 board have 15^15 combinations of positions, but
+    // cars keep their order within a lane, the lane below the target car is full and the next has
+    // room for 210 arrangements, so only 15 * 210 states are held
+    List<Car> cars = new ArrayList<>();
+    cars.add(new Car(1, 0, 2, true));
+    for (int i = 0; i < 14; i++) {
+      cars.add(new Car(i % 8 * 2 + 1, 1 + i / 8, 2, true));
+    }
+    Board b = new Board(16, 15, 0, cars);
+    DistanceTable table = new DistanceTable(b);
+    assertEquals(15 * 210, table.reachableStates());
+    assertEquals(new BreadthFirstSolver(b).solveProblem().size() - 1, table.distance(b));
+
+    // Swapping two cars of a lane gives a board the table doesn't cover
+    List<Car> swapped = new ArrayList<>(cars);
+    swapped.set(9, cars.get(10));
+    swapped.set(10, cars.get(9));
+    assertThrows(IllegalArgumentException.class, () -> {
+      table.distance(new Board(16, 15, 0, swapped));
+    });
+  }
+
+  @Test
+  void stateBudgetTest() throws IOException {
+    Board puzzle = PerformanceTest.loadPuzzles("puzzles.txt").get(39);
+    int reachable = new DistanceTable(puzzle).reachableStates();
+    assertEquals(reachable, new DistanceTable(puzzle, MoveModel.SINGLE_STEP, reachable).reachableStates());
+    assertThrows(IllegalArgumentException.class, () -> {
+      new DistanceTable(puzzle, MoveModel.SINGLE_STEP, reachable - 1);
+    });
+    assertThrows(IllegalArgumentException.class, () -> {
+      new DistanceTable(puzzle, MoveModel.SINGLE_STEP, 0);
+    });
+  }
+}
\ No newline at end of file
@@ -0,0 +1,129 @@
+package com.rushhour;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class ExternalMemorySolverTest extends SolverTest {
+  @TempDir
+  Path directory;
+
+  @Override
+  public Solver createSolver(Board initialState) {
+    return new ExternalMemorySolver(initialState, MoveModel.SINGLE_STEP, directory, 64);
+  }
+
+  @Override
+  public Solver createSolver(Board initialState, MoveModel moveModel) {
+    return new ExternalMemorySolver(initialState, moveModel, directory, 64);
+  }
+
+  @Test
+  void optimalOnPuzzlesTest() throws IOException {
+    // Small runs, so every layer is merged from many of them
+    List<Board> puzzles = PerformanceTest.loadPuzzles("puzzles.txt");
+    for (Board b : puzzles.subList(0, 10)) {
+      for (MoveModel moveModel : MoveModel.values()) {
+        assertEquals(new BreadthFirstSolver(b, moveModel).solveProblem().size(),
+                     new ExternalMemorySolver(b, moveModel, directory, 100).solveProblem().size());
+      }
+    }
+  }
+
+  @Test
+  void workingFilesAreDeletedTest() throws IOException {
+    Board b = PerformanceTest.loadPuzzles("puzzles.txt").get(1);
+    assertTrue(new ExternalMemorySolver(b, MoveModel.SINGLE_STEP, directory, 1000).solveProblem().size() > 1);
+    try (Stream<Path> files = Files.list(directory)) {
+      assertEquals(0, files.count());
+    }
+  }
+
+  @Test
+  void multiplePassMergeTest() throws IOException {
+    // Tiny runs merged a few at a time, so the larger layers take several passes
+    List<Board> puzzles = PerformanceTest.loadPuzzles("puzzles.txt");
+    for (Board b : puzzles.subList(0, 5)) {
+      ExternalMemorySolver solver = new ExternalMemorySolver(b, MoveModel.SINGLE_STEP, directory, 8);
+      solver.mergeFanIn = 3;
+      ExternalMemorySolver onePass = new ExternalMemorySolver(b, MoveModel.SINGLE_STEP, directory, 8);
+      List<Board> moves = solver.solveProblem();
+      assertEquals(new BreadthFirstSolver(b).solveProblem().size(), moves.size());
+      assertEquals(onePass.solveProblem(), moves);
+      assertEquals(onePass.statistics().nodesExpanded(), solver.statistics().nodesExpanded());
+      assertEquals(onePass.statistics().duplicates(), solver.statistics().duplicates());
+    }
+    try (Stream<Path> files = Files.list(directory)) {
+      assertEquals(0, files.count());
+    }
+  }
+
+  @Test
+  void statisticsMatchBreadthFirstTest() throws IOException {
+    // Every state of an unsolvable puzzle is visited, whichever way the layers are stored
+    Board b = new Board(List.of(new Car(1, 2, 2, true), new Car(5, 2, 3, false), new Car(5, 5, 3, false),
+                                new Car(3, 5, 2, true)));
+    Solver inMemory = new BreadthFirstSolver(b);
+    Solver external = createSolver(b);
+    assertTrue(inMemory.solveProblem().isEmpty());
+    assertTrue(external.solveProblem().isEmpty());
+    assertEquals(inMemory.statistics().peakVisitedSize(), external.statistics().peakVisitedSize());
+    assertEquals(inMemory.statistics().nodesExpanded(), external.statistics().nodesExpanded());
+  }
+
+  @Test
+  void largeLayoutsTest() {
+    // On an 8x8 board every car takes 3 bits, so the target car and 20 more fit in 63 bits
+    ArrayList<Car> cars = new ArrayList<>();
+    cars.add(new Car(1, 0, 2, true));
+    for (int i = 0; i < 20; i++) {
+      cars.add(new Car(1 + 2 * (i % 4), 1 + i / 4, 2, true));
+    }
+    Board b = new Board(8, 7, 0, cars);
+    // The target car slides 6 squares to the exit, one at a time
+    List<Board> moves = createSolver(b).solveProblem();
+    assertEquals(7, moves.size());
+    assertEquals(new BreadthFirstSolver(b).solveProblem(), moves);
+    cars.add(new Car(1, 6, 2, true));
+    assertThrows(IllegalArgumentException.class, () -> {
+      createSolver(new Board(8, 7, 0, cars));
+    });
+
+    // On a 10x10 board a car of length 2 takes 4 bits and one of length 3 takes 3, so the target
+    // car, 14 more cars of length 2 and one of length 3 fit, but not another car of length 2
+    cars.clear();
+    cars.add(new Car(1, 0, 2, true));
+    for (int i = 0; i < 14; i++) {
+      cars.add(new Car(1 + 2 * (i % 5), 1 + i / 5, 2, true));
+    }
+    cars.add(new Car(9, 7, 3, false));
+    b = new Board(10, 9, 0, cars);
+    moves = createSolver(b).solveProblem();
+    assertEquals(9, moves.size());
+    assertEquals(new BreadthFirstSolver(b).solveProblem(), moves);
+    cars.set(cars.size() - 1, new Car(9, 3, 2, true));
+    assertThrows(IllegalArgumentException.class, () -> {
+      createSolver(new Board(10, 9, 0, cars));
+    });
+  }
+
+  @Test
+  void invalidArgumentsTest() {
+    Board b = new Board(List.of(new Car(4, 2, 2, true)));
+    assertThrows(IllegalArgumentException.class, () -> {
+      new ExternalMemorySolver(b, MoveModel.SINGLE_STEP, directory.resolve("missing"), 64);
+    });
+    assertThrows(IllegalArgumentException.class, () -> {
+      new ExternalMemorySolver(b, MoveModel.SINGLE_STEP, directory, 0);
+    });
+  }
+}
\ No newline at end of file
@@ -0,0 +1,59 @@
+package com.rushhour;
+
+import java.io.IOException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+public class FrontierSearchSolverTest extends SolverTest {
+  @Override
+  public Solver createSolver(Board initialState) {
+    return new FrontierSearchSolver(initialState);
+  }
+
+  @Override
+  public Solver createSolver(Board initialState, MoveModel moveModel) {
+    return new FrontierSearchSolver(initialState, moveModel);
+  }
+
+  @Test
+  void optimalOnPuzzlesTest() throws IOException {
+    List<Board> puzzles = PerformanceTest.loadPuzzles("puzzles.txt");
+    for (Board b : puzzles.subList(0, 10)) {
+      for (MoveModel moveModel : MoveModel.values()) {
+        List<Board> solution = new FrontierSearchSolver(b, moveModel).solveProblem();
+        assertEquals(new BreadthFirstSolver(b, moveModel).solveProblem().size(), solution.size());
+        assertEquals(b, solution.get(0));
+        for (int i = 1; i < solution.size(); i++) {
+          assertSingleSlide(solution.get(i - 1), solution.get(i));
+        }
+        assertTrue(solution.get(solution.size() - 1).solutionFound());
+      }
+    }
+  }
+
+  @Test
+  void fewerStatesHeldTest() throws IOException {
+    // The deepest puzzle, where breadth-first search keeps every state it has seen
+    Board b = PerformanceTest.loadPuzzles("puzzles.txt").get(39);
+    Solver frontier = new FrontierSearchSolver(b);
+    Solver breadthFirst = new BreadthFirstSolver(b);
+    assertEquals(breadthFirst.solveProblem().size(), frontier.solveProblem().size());
+    assertTrue(frontier.statistics().peakVisitedSize() * 2 < breadthFirst.statistics().peakVisitedSize());
+  }
+
+  @Test
+  void singleRelayHeldTest() throws IOException {
+    // Besides the previous and current layers only the relay is held, so never more than three
+    // layers' worth of states
+    for (Board b : PerformanceTest.loadPuzzles("puzzles.txt")) {
+      for (MoveModel moveModel : MoveModel.values()) {
+        Solver solver = new FrontierSearchSolver(b, moveModel);
+        solver.solveProblem();
+        assertTrue(solver.statistics().peakVisitedSize() <= 3 * solver.statistics().peakFrontierSize());
+      }
+    }
+  }
+}
\ No newline at end of file
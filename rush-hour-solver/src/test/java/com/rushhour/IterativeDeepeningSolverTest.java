@@ -0,0 +1,54 @@
+package com.rushhour;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.Test;
+
+public class IterativeDeepeningSolverTest extends SolverTest {
+  @Override
+  public Solver createSolver(Board initialState) {
+    return new IterativeDeepeningSolver(initialState);
+  }
+
+  @Override
+  public Solver createSolver(Board initialState, MoveModel moveModel) {
+    return new IterativeDeepeningSolver(initialState, moveModel);
+  }
+
+  @Test
+  void optimalOnPuzzlesTest() throws IOException {
+    List<Board> puzzles = PerformanceTest.loadPuzzles("puzzles.txt");
+    for (Board b : puzzles.subList(0, 10)) {
+      assertEquals(new BreadthFirstSolver(b).solveProblem().size(),
+                   new IterativeDeepeningSolver(b).solveProblem().size());
+    }
+  }
+
+  @Test
+  void optimalWithTinyTranspositionTableTest() {
+    ArrayList<Car> cars = new ArrayList<>();
+    cars.add(new Car(1, 2, 2, true));
+    cars.add(new Car(0, 1, 2, false));
+    cars.add(new Car(2, 0, 2, true));
+    cars.add(new Car(5, 0, 3, true));
+    cars.add(new Car(5, 2, 2, false));
+    cars.add(new Car(5, 5, 3, false));
+    Board initialState = new Board(cars);
+    for (MoveModel m : MoveModel.values()) {
+      assertEquals(new BreadthFirstSolver(initialState, m).solveProblem().size(),
+                   new IterativeDeepeningSolver(initialState, m, 16).solveProblem().size());
+    }
+  }
+
+  @Test
+  void invalidTranspositionTableSizeTest() {
+    Board b = new Board(List.of(new Car(1, 2, 2, true)));
+    assertThrows(IllegalArgumentException.class, () -> {
+      new IterativeDeepeningSolver(b, MoveModel.SINGLE_STEP, 1000);
+    });
+  }
+}
\ No newline at end of file
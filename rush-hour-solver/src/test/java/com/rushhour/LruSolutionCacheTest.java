@@ -0,0 +1,106 @@
+package com.rushhour;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+public class LruSolutionCacheTest {
+  @Test
+  void hitsAndMissesTest() throws IOException {
+    Board b = PerformanceTest.loadPuzzles("puzzles.txt").get(0);
+    LruSolutionCache cache = new LruSolutionCache(10);
+    assertNull(cache.get(b));
+    MoveSequence moves = new BreadthFirstSolver(b).solveToMoves();
+    cache.put(b, moves);
+    assertEquals(moves.toBoards(), cache.get(b).toBoards());
+    // A transposed copy of the puzzle shares the entry
+    assertNotNull(cache.get(CanonicalFormTest.transpose(b)));
+    assertEquals(2, cache.hits());
+    assertEquals(1, cache.misses());
+    assertEquals(1, cache.size());
+  }
+
+  @Test
+  void leastRecentlyUsedIsEvictedTest() throws IOException {
+    List<Board> puzzles = PerformanceTest.loadPuzzles("puzzles.txt").subList(0, 4);
+    LruSolutionCache cache = new LruSolutionCache(3);
+    for (int i = 0; i < 3; i++) {
+      cache.put(puzzles.get(i), new BreadthFirstSolver(puzzles.get(i)).solveToMoves());
+    }
+    // Using the first puzzle makes the second the least recently used
+    assertNotNull(cache.get(puzzles.get(0)));
+    cache.put(puzzles.get(3), new BreadthFirstSolver(puzzles.get(3)).solveToMoves());
+    assertEquals(3, cache.size());
+    assertEquals(1, cache.evictions());
+    assertNull(cache.get(puzzles.get(1)));
+    assertNotNull(cache.get(puzzles.get(0)));
+    assertNotNull(cache.get(puzzles.get(2)));
+    assertNotNull(cache.get(puzzles.get(3)));
+  }
+
+  @Test
+  void byteBudgetTest() throws IOException {
+    List<Board> puzzles = PerformanceTest.loadPuzzles("puzzles.txt").subList(0, 10);
+    LruSolutionCache cache = new LruSolutionCache(100, 1000);
+    for (Board b : puzzles) {
+      cache.put(b, new BreadthFirstSolver(b).solveToMoves());
+      assertTrue(cache.bytes() <= 1000);
+    }
+    assertEquals(10, cache.size() + cache.evictions());
+    assertTrue(cache.evictions() > 0);
+    cache.clear();
+    assertEquals(0, cache.size());
+    assertEquals(0, cache.bytes());
+  }
+
+  @Test
+  void sharedBetweenThreadsTest() throws Exception {
+    List<Board> puzzles = PerformanceTest.loadPuzzles("puzzles.txt").subList(0, 8);
+    LruSolutionCache cache = new LruSolutionCache(4);
+    ExecutorService pool = Executors.newFixedThreadPool(4);
+    try {
+      List<Future<?>> futures = new ArrayList<>();
+      for (int t = 0; t < 4; t++) {
+        futures.add(pool.submit(() -> {
+          for (int round = 0; round < 5; round++) {
+            for (Board b : puzzles) {
+              List<Board> solution = new CachedSolver(b, MoveModel.SINGLE_STEP, cache, AStarSolver::new).solveProblem();
+              assertEquals(b, solution.get(0));
+              assertTrue(solution.get(solution.size() - 1).solutionFound());
+            }
+          }
+        }));
+      }
+      for (Future<?> f : futures) {
+        f.get();
+      }
+    } finally {
+      pool.shutdownNow();
+    }
+    assertEquals(4 * 5 * 8, cache.hits() + cache.misses());
+    assertTrue(cache.size() <= 4);
+  }
+
+  @Test
+  void invalidArgumentsTest() {
+    assertThrows(IllegalArgumentException.class, () -> {
+      new LruSolutionCache(0);
+    });
+    assertThrows(IllegalArgumentException.class, () -> {
+      new LruSolutionCache(1, 0);
+    });
+    assertThrows(IllegalArgumentException.class, () -> {
+      new LruSolutionCache(1).put(new Board(), null);
+    });
+  }
+}
\ No newline at end of file
@@ -0,0 +1,75 @@
+package com.rushhour;
+
+import java.io.IOException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import org.junit.jupiter.api.Test;
+
+public class MoveGeneratorTest {
+  @Test
+  void onlyTargetCarTest() {
+    Board b = new Board(List.of(new Car(3, 2, 2, true)));
+    BoardLayout layout = new BoardLayout(b);
+    MoveGenerator generator = new MoveGenerator(layout);
+    assertEquals(2, generator.generate(layout.encode(b)));
+    assertEquals(0, generator.movedCar(0));
+    assertEquals(1, generator.displacement(0));
+    assertEquals(4, layout.position(generator.successor(0), 0));
+    assertEquals(-1, generator.displacement(1));
+    assertEquals(2, layout.position(generator.successor(1), 0));
+  }
+
+  @Test
+  void boxedInCarTest() {
+    Board b = new Board(List.of(new Car(1, 2, 2, true), new Car(2, 2, 3, false), new Car(5, 5, 3, false)));
+    BoardLayout layout = new BoardLayout(b);
+    MoveGenerator generator = new MoveGenerator(layout);
+    int numberOfMoves = generator.generate(layout.encode(b));
+    // Target car is stuck, the blocker can only move down, and the truck can only move up
+    assertEquals(2, numberOfMoves);
+    assertEquals(1, generator.movedCar(0));
+    assertEquals(1, generator.displacement(0));
+    assertEquals(2, generator.movedCar(1));
+    assertEquals(-1, generator.displacement(1));
+  }
+
+  @Test
+  void generatorAgreesWithBoardOnPuzzlesTest() throws IOException {
+    for (Board b : PerformanceTest.loadPuzzles("puzzles.txt")) {
+      BoardLayout layout = new BoardLayout(b);
+      MoveGenerator generator = new MoveGenerator(layout);
+      int numberOfMoves = generator.generate(layout.encode(b));
+      int count = 0;
+      for (int i = 0; i < b.numberOfCars(); i++) {
+        for (boolean movingForward : new boolean[] {true, false}) {
+          Board expected = b.tryMove(i, movingForward);
+          if (expected != null) {
+            assertEquals(expected, layout.decode(generator.successor(count)));
+            assertEquals(i, generator.movedCar(count));
+            assertEquals(movingForward ? 1 : -1, generator.displacement(count));
+            count++;
+          }
+        }
+      }
+      assertEquals(count, numberOfMoves);
+    }
+  }
+
+  @Test
+  void slideMovesTest() {
+    Board b = new Board(List.of(new Car(2, 2, 2, true), new Car(5, 4, 3, false)));
+    BoardLayout layout = new BoardLayout(b);
+    MoveGenerator generator = new MoveGenerator(layout, MoveModel.SLIDE);
+    int numberOfMoves = generator.generate(layout.encode(b));
+    // Target car slides 1-2 forward (up to the truck) or 1 back, truck slides 1 down or 1-2 up
+    assertEquals(6, numberOfMoves);
+    assertEquals(2, generator.displacement(1));
+    assertEquals(4, layout.position(generator.successor(1), 0));
+    assertEquals(-1, generator.displacement(2));
+    assertEquals(1, generator.movedCar(3));
+    assertEquals(1, generator.displacement(3));
+    assertEquals(-2, generator.displacement(5));
+    assertEquals(2, layout.position(generator.successor(5), 1));
+  }
+}
\ No newline at end of file
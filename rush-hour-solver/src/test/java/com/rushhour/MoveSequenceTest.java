@@ -0,0 +1,61 @@
+package com.rushhour;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.Test;
+
+public class MoveSequenceTest {
+  @Test
+  void fromBoardsTest() {
+    Board initialState = new Board(List.of(new Car(1, 2, 2, true), new Car(3, 4, 3, false)));
+    List<Board> boards = new BreadthFirstSolver(initialState, MoveModel.SLIDE).solveProblem();
+    MoveSequence moves = MoveSequence.fromBoards(boards);
+    assertEquals(2, moves.numberOfMoves());
+    // The truck slides down out of the way, then the target car slides to the exit
+    assertEquals(1, moves.carIndex(0));
+    assertEquals(1, moves.displacement(0));
+    assertEquals(0, moves.carIndex(1));
+    assertEquals(4, moves.displacement(1));
+    assertEquals(boards, moves.toBoards());
+    for (int i = 0; i < boards.size(); i++) {
+      assertEquals(boards.get(i), moves.board(i));
+    }
+    assertEquals("1+1 0+4", moves.toString());
+  }
+
+  @Test
+  void negativeDisplacementTest() {
+    Board initialState = new Board(List.of(new Car(1, 2, 2, true), new Car(2, 2, 2, false)));
+    MoveSequence moves = new BreadthFirstSolver(initialState).solveToMoves();
+    // The blocking car moves up (towards lower coordinates) once, which beats moving down twice
+    assertEquals(1, moves.carIndex(0));
+    assertEquals(-1, moves.displacement(0));
+    assertEquals(5, moves.numberOfMoves());
+    MoveSequence packed = new MoveSequence(initialState, new int[] {MoveSequence.packMove(1, -2)});
+    assertEquals(1, packed.carIndex(0));
+    assertEquals(-2, packed.displacement(0));
+  }
+
+  @Test
+  void emptyCertificateTest() {
+    assertNull(MoveSequence.fromBoards(List.of()));
+    Board solved = new Board(List.of(new Car(5, 2, 2, true)));
+    MoveSequence moves = MoveSequence.fromBoards(List.of(solved));
+    assertEquals(0, moves.numberOfMoves());
+    assertEquals(solved, moves.finalState());
+    assertThrows(IndexOutOfBoundsException.class, () -> {
+      moves.board(1);
+    });
+  }
+
+  @Test
+  void statesMustDifferByAMoveTest() {
+    Board b = new Board(List.of(new Car(4, 2, 2, true)));
+    assertThrows(IllegalArgumentException.class, () -> {
+      MoveSequence.fromBoards(List.of(b, b));
+    });
+  }
+}
\ No newline at end of file
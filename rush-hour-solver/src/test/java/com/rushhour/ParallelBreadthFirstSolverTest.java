@@ -0,0 +1,61 @@
+package com.rushhour;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+
+public class ParallelBreadthFirstSolverTest extends SolverTest {
+  private static final ForkJoinPool POOL = new ForkJoinPool(4);
+
+  @AfterAll
+  static void shutDownPool() {
+    POOL.shutdown();
+  }
+
+  @Override
+  public Solver createSolver(Board initialState) {
+    return new BreadthFirstSolver(initialState, MoveModel.SINGLE_STEP, POOL);
+  }
+
+  @Override
+  public Solver createSolver(Board initialState, MoveModel moveModel) {
+    return new BreadthFirstSolver(initialState, moveModel, POOL);
+  }
+
+  @Test
+  void sameLengthAsSequentialOnPuzzlesTest() throws IOException {
+    for (Board b : PerformanceTest.loadPuzzles("puzzles.txt")) {
+      List<Board> expected = new BreadthFirstSolver(b).solveProblem();
+      List<Board> actual = createSolver(b).solveProblem();
+      assertEquals(expected.size(), actual.size());
+      assertEquals(b, actual.get(0));
+      assertTrue(actual.get(actual.size() - 1).solutionFound());
+      for (int i = 1; i < actual.size(); i++) {
+        assertEquals(1, actual.get(i).distanceFrom(actual.get(i - 1)));
+      }
+    }
+  }
+
+  @Test
+  void limitsStopLayerTest() {
+    // Six cars free to slide along their rows and a target car that can never leave give layers of
+    // tens of thousands of states, and the workers stop within a few hundred states each of
+    // passing the budget rather than at the end of a layer
+    List<Car> cars = new ArrayList<>();
+    cars.add(new Car(1, 0, 2, true));
+    cars.add(new Car(9, 9, 10, false));
+    for (int row = 2; row <= 7; row++) {
+      cars.add(new Car(1, row, 2, true));
+    }
+    Solver solver = createSolver(new Board(10, 9, 0, cars)).withLimits(new SearchLimits(20000));
+    SearchResult result = solver.solve();
+    assertEquals(SearchResult.Outcome.NODE_LIMIT_REACHED, result.outcome());
+    assertTrue(result.statistics().nodesExpanded() < 20000 + 4 * 256 + 512);
+  }
+}
\ No newline at end of file
@@ -0,0 +1,184 @@
+package com.rushhour;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class PuzzleCorpusTest {
+  @TempDir
+  Path directory;
+
+  // Helper function to copy puzzles.txt out of the classpath
+  private Path puzzlesFile() throws IOException {
+    Path text = directory.resolve("puzzles.txt");
+    try (InputStream in = PuzzleCorpusTest.class.getClassLoader().getResourceAsStream("puzzles.txt")) {
+      Files.copy(in, text, StandardCopyOption.REPLACE_EXISTING);
+    }
+    return text;
+  }
+
+  @Test
+  void convertRoundTripTest() throws IOException {
+    Path corpus = directory.resolve("puzzles.bin");
+    assertEquals(40, PuzzleCorpusWriter.convert(puzzlesFile(), corpus));
+    List<Board> puzzles = PerformanceTest.loadPuzzles("puzzles.txt");
+    try (PuzzleCorpusReader reader = new PuzzleCorpusReader(corpus)) {
+      assertEquals(40, reader.size());
+      List<Board> read = new ArrayList<>();
+      reader.forEach(read::add);
+      assertEquals(puzzles, read);
+      assertEquals(puzzles, reader.stream().collect(Collectors.toList()));
+      assertEquals(puzzles.get(17), reader.get(17));
+      // Decoded boards are solved just like the originals
+      assertEquals(new BreadthFirstSolver(puzzles.get(3)).solveProblem().size(),
+                   new BreadthFirstSolver(reader.get(3)).solveProblem().size());
+    }
+    // Records are a fixed 4 bytes plus 2 bytes per car
+    assertTrue(Files.size(corpus) < Files.size(puzzlesFile()) / 2);
+  }
+
+  @Test
+  void customBoardTest() throws IOException {
+    Path corpus = directory.resolve("custom.bin");
+    Board custom = new Board(8, 0, 3, List.of(new Car(7, 3, 2, true), new Car(4, 7, 4, false)));
+    Board standard = new Board(List.of(new Car(4, 2, 2, true)));
+    try (PuzzleCorpusWriter writer = new PuzzleCorpusWriter(corpus, 2)) {
+      writer.write(custom);
+      writer.write(standard);
+    }
+    try (PuzzleCorpusReader reader = new PuzzleCorpusReader(corpus)) {
+      assertEquals(custom, reader.get(0));
+      assertEquals(8, reader.get(0).N());
+      assertEquals(0, reader.get(0).exitXPosition());
+      assertEquals(standard, reader.get(1));
+      assertEquals(1, reader.get(1).numberOfCars());
+    }
+  }
+
+  @Test
+  void smallSegmentsTest() throws IOException {
+    Path corpus = directory.resolve("puzzles.bin");
+    PuzzleCorpusWriter.convert(puzzlesFile(), corpus);
+    List<Board> puzzles = PerformanceTest.loadPuzzles("puzzles.txt");
+    // Segments of a few records each, so boards are spread over many mappings
+    try (PuzzleCorpusReader reader = new PuzzleCorpusReader(corpus, 100)) {
+      for (int i = 0; i < puzzles.size(); i++) {
+        assertEquals(puzzles.get(i), reader.get(i));
+      }
+    }
+  }
+
+  @Test
+  void invalidCorpusTest() throws IOException {
+    Path notACorpus = puzzlesFile();
+    assertThrows(IOException.class, () -> {
+      new PuzzleCorpusReader(notACorpus);
+    });
+    Path corpus = directory.resolve("puzzles.bin");
+    PuzzleCorpusWriter.convert(notACorpus, corpus);
+    try (PuzzleCorpusReader reader = new PuzzleCorpusReader(corpus)) {
+      assertThrows(IndexOutOfBoundsException.class, () -> {
+        reader.get(40);
+      });
+    }
+  }
+
+  @Test
+  void boardTooLargeTest() throws IOException {
+    try (PuzzleCorpusWriter writer = new PuzzleCorpusWriter(directory.resolve("large.bin"), 1)) {
+      assertThrows(IllegalArgumentException.class, () -> {
+        writer.write(new Board(17, 16, 0, List.of(new Car(16, 0, 2, true))));
+      });
+      assertThrows(IllegalArgumentException.class, () -> {
+        writer.write(new Board(List.of(new Car(1, 2, 2, true), new Car(5, 2, 3, false))));
+      });
+    }
+  }
+
+  @Test
+  void carFieldsOutOfRangeTest() throws IOException {
+    Path corpus = directory.resolve("cars.bin");
+    Board valid = new Board(List.of(new Car(4, 2, 2, true)));
+    try (PuzzleCorpusWriter writer = new PuzzleCorpusWriter(corpus, 2)) {
+      // Neither a car of length 0 nor a coordinate past 4 bits is packed
+      Board zeroLength = new Board(6, 5, 2, List.of(new Car(4, 2, 2, true), new Car(0, 4, 0, true)));
+      assertThrows(IllegalArgumentException.class, () -> writer.write(zeroLength));
+      assertThrows(IllegalArgumentException.class, () -> PuzzleCorpusWriter.packCar(new Car(16, 0, 2, true)));
+      assertThrows(IllegalArgumentException.class, () -> PuzzleCorpusWriter.packCar(new Car(0, -1, 2, false)));
+      assertThrows(IllegalArgumentException.class, () -> PuzzleCorpusWriter.packCar(new Car(15, 0, 17, true)));
+      writer.write(valid);
+    }
+    // The rejected board left nothing behind
+    try (PuzzleCorpusReader reader = new PuzzleCorpusReader(corpus)) {
+      assertEquals(1, reader.size());
+      assertEquals(valid, reader.get(0));
+    }
+  }
+
+  @Test
+  void moreThan127CarsTest() throws IOException {
+    // A full 16x16 board: the target car, eight cars of length 2 in every other row, and cars of
+    // length 1 across the rest of the top row
+    List<Car> cars = new ArrayList<>();
+    cars.add(new Car(1, 0, 2, true));
+    for (int y = 1; y < 16; y++) {
+      for (int x = 1; x < 16; x += 2) {
+        cars.add(new Car(x, y, 2, true));
+      }
+    }
+    for (int x = 2; x < 16; x++) {
+      cars.add(new Car(x, 0, 1, false));
+    }
+    Board full = new Board(16, 15, 0, cars);
+    assertEquals(135, full.numberOfCars());
+    Path corpus = directory.resolve("full.bin");
+    try (PuzzleCorpusWriter writer = new PuzzleCorpusWriter(corpus, 200)) {
+      writer.write(full);
+    }
+    try (PuzzleCorpusReader reader = new PuzzleCorpusReader(corpus)) {
+      assertEquals(full, reader.get(0));
+    }
+  }
+
+  @Test
+  void corruptRecordsTest() throws IOException {
+    Path corpus = directory.resolve("corrupt.bin");
+    try (PuzzleCorpusWriter writer = new PuzzleCorpusWriter(corpus, 2)) {
+      writer.write(new Board(List.of(new Car(4, 2, 2, true))));
+      writer.write(new Board(List.of(new Car(4, 2, 2, true))));
+      writer.write(new Board(List.of(new Car(4, 2, 2, true))));
+    }
+    byte[] bytes = Files.readAllBytes(corpus);
+    int record = PuzzleCorpusWriter.recordSize(2);
+    // More cars than the header allows, two cars in the same place, and a board too large
+    bytes[PuzzleCorpusWriter.HEADER_SIZE + 3] = 3;
+    bytes[PuzzleCorpusWriter.HEADER_SIZE + record + 3] = 2;
+    bytes[PuzzleCorpusWriter.HEADER_SIZE + record + 6] = bytes[PuzzleCorpusWriter.HEADER_SIZE + record + 4];
+    bytes[PuzzleCorpusWriter.HEADER_SIZE + record + 7] = bytes[PuzzleCorpusWriter.HEADER_SIZE + record + 5];
+    bytes[PuzzleCorpusWriter.HEADER_SIZE + 2 * record] = 17;
+    Files.write(corpus, bytes);
+    try (PuzzleCorpusReader reader = new PuzzleCorpusReader(corpus)) {
+      for (int i = 0; i < 3; i++) {
+        long index = i;
+        assertThrows(UncheckedIOException.class, () -> reader.get(index));
+      }
+    }
+
+    // A header claiming no room for cars
+    bytes[7] = 0;
+    Files.write(corpus, bytes);
+    assertThrows(IOException.class, () -> new PuzzleCorpusReader(corpus));
+  }
+}
\ No newline at end of file
@@ -0,0 +1,97 @@
+package com.rushhour;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class PuzzleReaderTest {
+  @Test
+  void readBoardsTest() {
+    String text = "# 1\n1,2,2,true\n5,2,3,false\n\n# 2\n4,2,2,true\n";
+    PuzzleReader reader = new PuzzleReader(new StringReader(text));
+    assertTrue(reader.hasNext());
+    assertEquals(new Board(List.of(new Car(1, 2, 2, true), new Car(5, 2, 3, false))), reader.next());
+    assertTrue(reader.hasNext());
+    assertEquals(new Board(List.of(new Car(4, 2, 2, true))), reader.next());
+    assertFalse(reader.hasNext());
+    assertThrows(NoSuchElementException.class, () -> {
+      reader.next();
+    });
+  }
+
+  @Test
+  void whitespaceAndLineEndingsTest() {
+    String text = "\r\n  1 , 2,2 ,TRUE\r\n\t5,2,3,false,extra\r\n   \r\n#\r\n4,2,2,True";
+    List<Board> boards = new ArrayList<>();
+    new PuzzleReader(new StringReader(text)).forEachRemaining(boards::add);
+    assertEquals(2, boards.size());
+    assertEquals(new Board(List.of(new Car(1, 2, 2, true), new Car(5, 2, 3, false))), boards.get(0));
+    assertEquals(new Board(List.of(new Car(4, 2, 2, true))), boards.get(1));
+  }
+
+  @Test
+  void booleanLikeParseBooleanTest() {
+    // Anything but "true" is false, as with Boolean.parseBoolean
+    PuzzleReader reader = new PuzzleReader(new StringReader("2,2,2,True\n3,1,2,truer\n"));
+    assertEquals(new Board(List.of(new Car(2, 2, 2, true), new Car(3, 1, 2, false))), reader.next());
+  }
+
+  @Test
+  void matchesLoadPuzzlesTest() throws IOException {
+    List<Board> puzzles = PerformanceTest.loadPuzzles("puzzles.txt");
+    assertEquals(40, puzzles.size());
+    try (PuzzleReader reader = new PuzzleReader(PuzzleReaderTest.class.getClassLoader().getResourceAsStream("puzzles.txt"))) {
+      assertEquals(puzzles, reader.stream().collect(Collectors.toList()));
+    }
+  }
+
+  @Test
+  void readFromPathTest(@TempDir Path directory) throws IOException {
+    Path file = directory.resolve("puzzles.txt");
+    StringBuilder sb = new StringBuilder();
+    for (int i = 0; i < 10000; i++) {
+      sb.append("# ").append(i).append('\n').append(i % 5 + 1).append(",2,2,true\n\n");
+    }
+    Files.writeString(file, sb);
+    try (Stream<Board> boards = new PuzzleReader(file).stream()) {
+      assertEquals(2000, boards.filter(b -> b.cars().get(0).xPosition() == 5).count());
+    }
+  }
+
+  @Test
+  void boardsAreReadLazilyTest() {
+    // The malformed second board isn't parsed until it is asked for
+    PuzzleReader reader = new PuzzleReader(new StringReader("4,2,2,true\n\n4,2,x,true\n"));
+    assertEquals(new Board(List.of(new Car(4, 2, 2, true))), reader.next());
+    IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> {
+      reader.hasNext();
+    });
+    assertTrue(e.getMessage().contains("line 3"));
+  }
+
+  @Test
+  void malformedCarTest() {
+    assertThrows(IllegalArgumentException.class, () -> {
+      new PuzzleReader(new StringReader("4,2\n")).next();
+    });
+    assertThrows(IllegalArgumentException.class, () -> {
+      new PuzzleReader(new StringReader("4;2;2;true\n")).next();
+    });
+    assertThrows(IllegalArgumentException.class, () -> {
+      new PuzzleReader(new StringReader("99999999999,2,2,true\n")).next();
+    });
+  }
+}
\ No newline at end of file
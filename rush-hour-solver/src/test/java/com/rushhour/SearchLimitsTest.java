@@ -0,0 +1,117 @@
+package com.rushhour;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+public class SearchLimitsTest {
+  @Test
+  void invalidLimitsTest() {
+    assertThrows(IllegalArgumentException.class, () -> new SearchLimits(Duration.ofSeconds(-1)));
+    assertThrows(IllegalArgumentException.class, () -> new SearchLimits(-1));
+    assertThrows(IllegalArgumentException.class, () -> new BreadthFirstSolver(new Board()).withLimits(null));
+    assertThrows(IllegalArgumentException.class, () -> new SearchResult(null, null, null));
+    assertThrows(IllegalArgumentException.class, () -> new SearchResult(SearchResult.Outcome.SOLVED, null, null));
+    MoveSequence moves = new BreadthFirstSolver(new Board(List.of(new Car(4, 2, 2, true)))).solveToMoves();
+    assertThrows(IllegalArgumentException.class, () -> new SearchResult(SearchResult.Outcome.UNSOLVABLE, moves, null));
+    assertEquals(moves, new SearchResult(SearchResult.Outcome.TIMED_OUT, moves, null).moves());
+  }
+
+  @Test
+  void checkTest() {
+    SearchStatistics statistics = new SearchStatistics();
+    statistics.limits = new SearchLimits(2);
+    statistics.expanded(0);
+    statistics.expanded(0);
+    SearchLimitExceededException e = assertThrows(SearchLimitExceededException.class, () -> statistics.expanded(0));
+    assertEquals(SearchResult.Outcome.NODE_LIMIT_REACHED, e.outcome());
+    assertEquals(3, e.statistics().nodesExpanded());
+
+    // Cancellation is noticed at the next expansion, and beats the other limits
+    CancellationToken token = new CancellationToken();
+    SearchStatistics cancelled = new SearchStatistics();
+    cancelled.limits = new SearchLimits(Duration.ZERO, 0, token);
+    assertFalse(token.isCancelled());
+    token.cancel();
+    e = assertThrows(SearchLimitExceededException.class, () -> cancelled.expanded(0));
+    assertEquals(SearchResult.Outcome.CANCELLED, e.outcome());
+
+    // Cancelling a parent cancels its children, but not the other way round
+    CancellationToken parent = new CancellationToken();
+    CancellationToken child = new CancellationToken(parent);
+    CancellationToken other = new CancellationToken(parent);
+    other.cancel();
+    assertFalse(parent.isCancelled() || child.isCancelled());
+    parent.cancel();
+    assertTrue(child.isCancelled());
+  }
+
+  @Test
+  void deadlineTest() {
+    assertNull(SearchLimits.NONE.remaining());
+    SearchLimits limits = new SearchLimits(Duration.ofHours(1));
+    assertTrue(limits.remaining().compareTo(Duration.ofMinutes(59)) > 0);
+    assertEquals(Duration.ZERO, new SearchLimits(Duration.ZERO).remaining());
+    // A copy with another token keeps the deadline
+    SearchLimits copy = limits.withToken(new CancellationToken());
+    assertEquals(limits.deadline, copy.deadline);
+    assertNull(SearchLimits.NONE.withToken(null).remaining());
+    // Durations too long for nanoseconds don't overflow into the past
+    assertTrue(new SearchLimits(Duration.ofSeconds(Long.MAX_VALUE)).remaining().toDays() > 365);
+  }
+
+  @Test
+  void budgetSharedBetweenCallsTest() {
+    // One search fits in the budget, but the second on the same solver pushes it over
+    Board initialState = new Board(List.of(new Car(4, 2, 2, true), new Car(5, 3, 2, false)));
+    Solver unlimited = new BreadthFirstSolver(initialState);
+    unlimited.solveProblem();
+    long perSearch = unlimited.statistics().nodesExpanded();
+    Solver solver = new BreadthFirstSolver(initialState).withLimits(new SearchLimits(perSearch + perSearch / 2));
+    assertTrue(solver.solve().isSolved());
+    assertEquals(SearchResult.Outcome.NODE_LIMIT_REACHED, solver.solve().outcome());
+  }
+
+  @Test
+  void solverRecordingExpansionsTest() {
+    // A solver only using the public API has its limits enforced by recording its expansions
+    Solver counting = new Solver() {
+      final SearchStatistics statistics = new SearchStatistics();
+
+      @Override
+      public List<Board> solveProblem() {
+        while (true) {
+          statistics.expanded(1);
+        }
+      }
+
+      @Override
+      public SearchStatistics statistics() {
+        return statistics;
+      }
+    };
+    SearchResult result = counting.withLimits(new SearchLimits(50)).solve();
+    assertEquals(SearchResult.Outcome.NODE_LIMIT_REACHED, result.outcome());
+    assertEquals(51, result.statistics().nodesExpanded());
+  }
+
+  @Test
+  void cachedSolverLimitsTest() throws Exception {
+    Board puzzle = PerformanceTest.loadPuzzles("puzzles.txt").get(39);
+    LruSolutionCache cache = new LruSolutionCache(4);
+    SearchResult result = new CachedSolver(puzzle, cache).withLimits(new SearchLimits(100)).solve();
+    assertEquals(SearchResult.Outcome.NODE_LIMIT_REACHED, result.outcome());
+    assertEquals(0, cache.size());
+
+    // Once cached, the puzzle is solved without expanding a state
+    cache.put(puzzle, new BreadthFirstSolver(puzzle).solveToMoves());
+    result = new CachedSolver(puzzle, cache).withLimits(new SearchLimits(0)).solve();
+    assertTrue(result.isSolved());
+  }
+}
\ No newline at end of file
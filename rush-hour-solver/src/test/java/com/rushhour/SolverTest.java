@@ -1,11 +1,15 @@
 package com.rushhour;
 
+import java.io.IOException;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import org.junit.jupiter.api.Test;
 
@@ -13,6 +17,21 @@ public abstract class SolverTest {
   // Factory method to be implemented by subclasses for specific solvers
   protected abstract Solver createSolver(Board initialState);
 
+  // Factory method for solvers using a specific move model
+  protected abstract Solver createSolver(Board initialState, MoveModel moveModel);
+
+  // Helper function to check that two boards differ by a single slide of a single car
+  static void assertSingleSlide(Board a, Board b) {
+    int movedCars = 0;
+    for (int i = 0; i < a.numberOfCars(); i++) {
+      if (!a.cars().get(i).equals(b.cars().get(i))) {
+        movedCars++;
+      }
+    }
+    assertEquals(1, movedCars);
+    assertNotNull(a.distanceFrom(b));
+  }
+
   @Test
   void initialStateIsASolutionTest() {
     ArrayList<Car> cars = new ArrayList<>();
@@ -60,6 +79,46 @@ public abstract class SolverTest {
     }
   }
 
+  @Test
+  void statisticsTest() {
+    ArrayList<Car> cars = new ArrayList<>();
+    cars.add(new Car(4, 2, 2, true));
+    cars.add(new Car(5, 4, 3, false));
+    cars.add(new Car(5, 5, 2, true));
+    Solver solver = createSolver(new Board(cars));
+    solver.solveProblem();
+    SearchStatistics statistics = solver.statistics();
+    assertTrue(statistics.nodesExpanded() > 0);
+    assertTrue(statistics.nodesGenerated() >= statistics.duplicates());
+    assertTrue(statistics.peakFrontierSize() > 0);
+    assertTrue(statistics.peakVisitedSize() > 0);
+    assertTrue(statistics.phaseTimes().containsKey(SearchStatistics.SEARCH));
+    assertTrue(statistics.phaseTimes().containsKey(SearchStatistics.CERTIFICATE));
+  }
+
+  @Test
+  void solveToMovesTest() {
+    ArrayList<Car> cars = new ArrayList<>();
+    cars.add(new Car(4, 2, 2, true));
+    cars.add(new Car(5, 4, 3, false));
+    cars.add(new Car(5, 5, 2, true));
+    Board initialState = new Board(cars);
+    MoveSequence moves = createSolver(initialState).solveToMoves();
+    assertNotNull(moves);
+    assertEquals(createSolver(initialState).solveProblem(), moves.toBoards());
+    assertEquals(initialState, moves.initialState());
+    assertTrue(moves.finalState().solutionFound());
+  }
+
+  @Test
+  void solveToMovesImpossibleProblemTest() {
+    ArrayList<Car> cars = new ArrayList<>();
+    cars.add(new Car(1, 2, 2, true));
+    cars.add(new Car(5, 2, 3, false));
+    cars.add(new Car(5, 5, 3, false));
+    assertNull(createSolver(new Board(cars)).solveToMoves());
+  }
+
   @Test
   void primaryAndSecondaryObstacleTest() {
     ArrayList<Car> cars = new ArrayList<>();
@@ -178,4 +237,96 @@ public abstract class SolverTest {
     assertEquals(0, solution.size());
   }
 
+  @Test
+  void slideTargetCarToExitTest() {
+    Board initialState = new Board(List.of(new Car(1, 2, 2, true)));
+    Solver solver = createSolver(initialState, MoveModel.SLIDE);
+    List<Board> solution = solver.solveProblem();
+    assertEquals(initialState, solution.get(0));
+    assertTrue(solution.get(solution.size() - 1).solutionFound());
+    for (int i = 1; i < solution.size(); i++) {
+      assertSingleSlide(solution.get(i - 1), solution.get(i));
+    }
+  }
+
+  @Test
+  void slideTargetCarIsAnObstacleTest() {
+    ArrayList<Car> cars = new ArrayList<>();
+    cars.add(new Car(1, 2, 2, true));
+    cars.add(new Car(0, 1, 2, false));
+    cars.add(new Car(2, 0, 2, true));
+    cars.add(new Car(5, 0, 3, true));
+    cars.add(new Car(5, 2, 2, false));
+    cars.add(new Car(5, 5, 3, false));
+    Board initialState = new Board(cars);
+    Solver solver = createSolver(initialState, MoveModel.SLIDE);
+    List<Board> solution = solver.solveProblem();
+    assertNotEquals(0, solution.size());
+    assertEquals(initialState, solution.get(0));
+    assertTrue(solution.get(solution.size() - 1).solutionFound());
+    for (int i = 1; i < solution.size(); i++) {
+      assertTrue(solution.get(i).validateCars());
+      assertSingleSlide(solution.get(i - 1), solution.get(i));
+    }
+  }
+
+  @Test
+  void slideImpossibleProblemTest() {
+    ArrayList<Car> cars = new ArrayList<>();
+    cars.add(new Car(1, 2, 2, true));
+    cars.add(new Car(5, 2, 3, false));
+    cars.add(new Car(5, 5, 3, false));
+    Board initialState = new Board(cars);
+    Solver solver = createSolver(initialState, MoveModel.SLIDE);
+    assertEquals(0, solver.solveProblem().size());
+  }
+
+  @Test
+  void nodeLimitTest() throws IOException {
+    Board puzzle = PerformanceTest.loadPuzzles("puzzles.txt").get(39);
+    SearchResult result = createSolver(puzzle).withLimits(new SearchLimits(100)).solve();
+    assertEquals(SearchResult.Outcome.NODE_LIMIT_REACHED, result.outcome());
+    assertNull(result.moves());
+    assertTrue(result.isLimitExceeded());
+    assertTrue(result.statistics().nodesExpanded() > 100);
+  }
+
+  @Test
+  void cancelledTest() throws IOException {
+    Board puzzle = PerformanceTest.loadPuzzles("puzzles.txt").get(39);
+    CancellationToken token = new CancellationToken();
+    token.cancel();
+    Solver solver = createSolver(puzzle).withLimits(new SearchLimits(token));
+    SearchLimitExceededException e = assertThrows(SearchLimitExceededException.class, solver::solveProblem);
+    assertEquals(SearchResult.Outcome.CANCELLED, e.outcome());
+    assertTrue(e.statistics().nodesExpanded() > 0);
+  }
+
+  @Test
+  void timedOutTest() throws IOException {
+    Board puzzle = PerformanceTest.loadPuzzles("puzzles.txt").get(39);
+    SearchResult result = createSolver(puzzle).withLimits(new SearchLimits(Duration.ZERO)).solve();
+    assertEquals(SearchResult.Outcome.TIMED_OUT, result.outcome());
+  }
+
+  @Test
+  void solvedWithinLimitsTest() {
+    Board initialState = new Board(List.of(new Car(4, 2, 2, true), new Car(5, 3, 2, false)));
+    Solver solver = createSolver(initialState)
+      .withLimits(new SearchLimits(Duration.ofMinutes(1), 1000, new CancellationToken()));
+    SearchResult result = solver.solve();
+    assertEquals(SearchResult.Outcome.SOLVED, result.outcome());
+    assertTrue(result.moves().finalState().solutionFound());
+    assertEquals(solver.statistics(), result.statistics());
+  }
+
+  @Test
+  void unsolvableWithinLimitsTest() {
+    Board initialState = new Board(List.of(new Car(1, 2, 2, true), new Car(5, 2, 3, false),
+                                           new Car(5, 5, 3, false)));
+    SearchResult result = createSolver(initialState).withLimits(new SearchLimits(Duration.ofMinutes(1))).solve();
+    assertEquals(SearchResult.Outcome.UNSOLVABLE, result.outcome());
+    assertNull(result.moves());
+    assertTrue(!result.isSolved() && !result.isLimitExceeded());
+  }
 }
\ No newline at end of file
@@ -0,0 +1,72 @@
+package com.rushhour;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+public class StateTableTest {
+  @Test
+  void emptyTableTest() {
+    StateTable t = new StateTable();
+    assertEquals(0, t.size());
+    assertFalse(t.contains(0L));
+    assertEquals(StateTable.NOT_FOUND, t.indexOf(42L));
+  }
+
+  @Test
+  void addAndLookUpTest() {
+    StateTable t = new StateTable();
+    assertEquals(0, t.add(42L, StateTable.NO_PARENT, 0));
+    assertEquals(1, t.add(7L, 0, 1));
+    assertEquals(StateTable.NOT_FOUND, t.add(42L, 1, 2));
+    assertEquals(2, t.size());
+    assertEquals(0, t.indexOf(42L));
+    assertEquals(1, t.indexOf(7L));
+    assertEquals(7L, t.state(1));
+    assertEquals(0, t.parent(1));
+    assertEquals(1, t.distance(1));
+    assertEquals(StateTable.NO_PARENT, t.parent(0));
+    assertEquals(0, t.distance(0));
+  }
+
+  @Test
+  void growTest() {
+    StateTable t = new StateTable(0);
+    for (int i = 0; i < 100000; i++) {
+      assertEquals(i, t.add(i * 31L, i - 1, i));
+    }
+    assertEquals(100000, t.size());
+    for (int i = 0; i < 100000; i++) {
+      assertEquals(i, t.indexOf(i * 31L));
+      assertEquals(i - 1, t.parent(i));
+    }
+    assertFalse(t.contains(100000L * 31L));
+  }
+
+  @Test
+  void pathTest() {
+    StateTable t = new StateTable();
+    t.add(10L, StateTable.NO_PARENT, 0);
+    t.add(11L, 0, 1);
+    t.add(12L, 0, 1);
+    t.add(13L, 2, 2);
+    assertArrayEquals(new long[] {10L, 12L, 13L}, t.path(3));
+    assertArrayEquals(new long[] {10L}, t.path(0));
+  }
+
+  @Test
+  void changeParentAndDistanceTest() {
+    StateTable t = new StateTable();
+    t.add(10L, StateTable.NO_PARENT, 0);
+    t.add(11L, 0, 5);
+    t.add(12L, 0, 1);
+    t.changeParent(1, 2);
+    t.changeDistance(1, 2);
+    assertEquals(2, t.parent(1));
+    assertEquals(2, t.distance(1));
+    assertTrue(t.contains(11L));
+    assertArrayEquals(new long[] {10L, 12L, 11L}, t.path(1));
+  }
+}
\ No newline at end of file
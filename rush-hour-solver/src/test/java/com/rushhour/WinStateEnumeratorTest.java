@@ -0,0 +1,68 @@
+package com.rushhour;
+
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+public class WinStateEnumeratorTest {
+  // Helper function to count the win states of a board, checking each one along the way
+  static int countWinStates(Board b) {
+    BoardLayout layout = new BoardLayout(b);
+    WinStateEnumerator enumerator = new WinStateEnumerator(layout, layout.encode(b));
+    HashSet<Long> seen = new HashSet<>();
+    while (enumerator.hasNext()) {
+      long w = enumerator.next();
+      assertTrue(layout.isSolved(w));
+      assertTrue(layout.decode(w).validateCars());
+      assertTrue(seen.add(w));
+    }
+    assertEquals(BoardLayout.NO_STATE, enumerator.next());
+    return seen.size();
+  }
+
+  @Test
+  void onlyTargetCarTest() {
+    assertEquals(1, countWinStates(new Board(List.of(new Car(1, 2, 2, true)))));
+  }
+
+  @Test
+  void independentCarsTest() {
+    // A vertical truck in column 0 has 4 positions and a horizontal car in row 5 has 5
+    Board b = new Board(List.of(new Car(1, 2, 2, true), new Car(0, 5, 3, false), new Car(5, 5, 2, true)));
+    assertEquals(4 * 5 - 1, countWinStates(b));
+  }
+
+  @Test
+  void blockedLanesTest() {
+    // A vertical car in column 4 must stay clear of the target car at the exit, leaving rows 0-1 or 3-5
+    Board b = new Board(List.of(new Car(1, 2, 2, true), new Car(4, 4, 2, false)));
+    assertEquals(3, countWinStates(b));
+  }
+
+  @Test
+  void laneOrderIsKeptTest() {
+    // Two cars sharing row 0 can't pass each other, so there are 3 + 2 + 1 placements
+    Board b = new Board(List.of(new Car(1, 2, 2, true), new Car(1, 0, 2, true), new Car(3, 0, 2, true)));
+    assertEquals(6, countWinStates(b));
+  }
+
+  @Test
+  void noWinStatesTest() {
+    // A car filling the exit column leaves no room for the target car
+    Board b = new Board(List.of(new Car(1, 2, 2, true), new Car(5, 5, 6, false)));
+    BoardLayout layout = new BoardLayout(b);
+    assertFalse(new WinStateEnumerator(layout, layout.encode(b)).hasNext());
+  }
+
+  @Test
+  void puzzlesTest() throws IOException {
+    for (Board b : PerformanceTest.loadPuzzles("puzzles.txt")) {
+      assertTrue(countWinStates(b) > 0);
+    }
+  }
+}
\ No newline at end of file